@@ -60,8 +60,16 @@ public class BtcApiApp implements QuarkusApplication {
         LOG.info("---------------------------------------------------------------");
         LOG.infof("RPC: %s://%s:%d  [user: %s | pass: %s]",
                 rpcConfig.scheme(), rpcConfig.host(), rpcConfig.port(), rpcConfig.user(), maskPassword(rpcConfig.password()));
+        rpcConfig.nodes().forEach((name, node) -> LOG.infof("RPC node %s: %s://%s:%d  [user: %s | pass: %s]",
+                name, node.scheme(), node.host(), node.port(), node.user(), maskPassword(node.password())));
         LOG.infof("Polling Interval: %ds", dashboardConfig.polling().seconds());
         LOG.infof("Disable Mempool: %s", dashboardConfig.mempool().disable());
+        LOG.infof("Refresh Tiers: peers %ds | blockchain %ds | network %ds | uptime %ds | mempool %ds",
+                dashboardConfig.refresh().peersSeconds(),
+                dashboardConfig.refresh().blockchainSeconds(),
+                dashboardConfig.refresh().networkSeconds(),
+                dashboardConfig.refresh().uptimeSeconds(),
+                dashboardConfig.refresh().mempoolSeconds());
         LOG.info("---------------------------------------------------------------");
         
         long pollingIntervalMs = dashboardConfig.polling().seconds() * 1000L;
@@ -73,6 +81,10 @@ public class BtcApiApp implements QuarkusApplication {
                 bufferMs,
                 cacheValidityMs);
                 
+        if (dashboardConfig.cache().refreshAhead()) {
+            LOG.infof("Cache Refresh-Ahead: enabled | Max Staleness: %dms", dashboardConfig.cache().maxStalenessMs());
+        }
+
         LOG.infof("Max Cache Items: %d | Max Sessions: %d | Quarkus IO Threads: %s",
                 dashboardConfig.cache().maxItems(),
                 dashboardConfig.sessions().max(),
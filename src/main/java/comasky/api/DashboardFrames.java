@@ -0,0 +1,445 @@
+package comasky.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import comasky.rpcClass.DashboardTopic;
+import comasky.rpcClass.dto.GlobalResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * The WebSocket frames of one dashboard snapshot of a node, each encoded once and shared by all sessions.
+ * <p>
+ * Sessions in full mode receive the serialized {@link GlobalResponse} ({@link #message()}). Sessions in delta mode
+ * ({@code ?mode=delta}) first receive a snapshot frame, then only what changed since the previous snapshot:
+ * <pre>
+ * {"type":"snapshot","seq":7,"data":{...}}
+ * {"type":"delta","seq":8,"base":7,"changes":{"upTime":432005,"inboundPeer":{"added":[...],"updated":[...],"removed":[12]}}}
+ * </pre>
+ * A changed top-level field is sent whole, except the peer lists whose entries are added, updated or removed by
+ * peer {@code id}, and a field that is no longer sent (a section that failed) is set to {@code null}. A session
+ * that did not receive the base snapshot gets a snapshot frame instead. Failures are
+ * sent as the error payload, in both modes. A snapshot fetched for a single session (see {@link #detached}) is not
+ * part of the node's sequence: it is sent as a snapshot frame with {@code "seq":0}, and the session's next frame is
+ * a snapshot frame as well.
+ * <p>
+ * Frames are JSON text, or CBOR (RFC 8949) binary messages for sessions that negotiated the {@code dashboard.cbor}
+ * subprotocol. Sessions connecting with {@code ?compress=deflate} receive each frame as a binary message holding its
+ * raw DEFLATE stream (RFC 1951, as decoded by {@code DecompressionStream("deflate-raw")}), compressed without any
+ * context shared with other frames. Each frame is encoded once per format, on first use, and the same text or bytes
+ * are sent to every session using that format.
+ * <p>
+ * Sessions subscribed to some topics only (see {@link DashboardTopic}) receive frames restricted to the fields of
+ * those topics and the errors; frames are built once per distinct set of topics.
+ * <p>
+ * Each snapshot carries a fingerprint of its content, leaving out the counters that change on every poll (the uptime
+ * and the byte counters of the peers), so that a snapshot with nothing else new can be recognized and not broadcast
+ * again. A session sent a snapshot it already holds gets a heartbeat frame
+ * {@code {"type":"heartbeat","seq":7}} instead.
+ */
+final class DashboardFrames {
+
+    static final String TYPE_SNAPSHOT = "snapshot";
+    static final String TYPE_DELTA = "delta";
+    static final String TYPE_HEARTBEAT = "heartbeat";
+
+    private static final Set<String> PEER_LISTS = Set.of("inboundPeer", "outboundPeer");
+    private static final String PEER_ID = "id";
+    private static final String UP_TIME = "upTime";
+    private static final Set<String> PEER_COUNTERS = Set.of("bytesrecv", "bytessent");
+    private static final int DEFLATE_BUFFER_SIZE = 8192;
+    private static final CBORMapper CBOR_MAPPER = new CBORMapper();
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * The frames a session can be sent for one snapshot.
+     */
+    enum Kind {
+        /** The plain dashboard data, or the error payload */
+        FULL,
+        SNAPSHOT,
+        DELTA,
+        /** Sent instead of a snapshot the session already holds */
+        HEARTBEAT
+    }
+
+    /**
+     * A frame restricted to some topics.
+     */
+    private record FrameKey(Kind kind, Set<DashboardTopic> topics) {
+    }
+
+    /**
+     * One frame and its encodings, each built on first use.
+     */
+    private static final class Frame {
+        private final JsonNode node;
+        private String json;
+        private byte[] cbor;
+        private byte[] deflatedJson;
+        private byte[] deflatedCbor;
+
+        private Frame(JsonNode node, String json) {
+            this.node = node;
+            this.json = json;
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final CachedMessage message;
+    private final long seq;
+    private final JsonNode tree;
+    private final long previousSeq;
+    private final long fingerprint;
+
+    // Built on first use, guarded by this
+    private JsonNode previousTree;
+    private final Map<Kind, JsonNode> nodes = new EnumMap<>(Kind.class);
+    private final Map<FrameKey, Frame> frames = new HashMap<>();
+
+    private DashboardFrames(ObjectMapper objectMapper, CachedMessage message, long seq, JsonNode tree,
+                            DashboardFrames previous) {
+        this.objectMapper = objectMapper;
+        this.message = message;
+        this.seq = seq;
+        this.tree = tree;
+        this.previousSeq = previous != null ? previous.seq : 0L;
+        this.previousTree = previous != null ? previous.tree : null;
+        this.fingerprint = contentFingerprint(objectMapper, tree);
+        nodes.put(Kind.FULL, tree);
+        frames.put(new FrameKey(Kind.FULL, DashboardTopic.ALL), new Frame(tree, message.serializedJson()));
+    }
+
+    /**
+     * Encodes a snapshot following {@code previous}, the last snapshot of the same node (null for the first one).
+     */
+    static DashboardFrames snapshot(ObjectMapper objectMapper, GlobalResponse data, DashboardFrames previous)
+            throws JsonProcessingException {
+        JsonNode tree = objectMapper.valueToTree(data);
+        CachedMessage message = CachedMessage.success(data, objectMapper.writeValueAsString(tree));
+        long seq = previous != null ? previous.seq + 1 : 1L;
+        return new DashboardFrames(objectMapper, message, seq, tree, previous);
+    }
+
+    /**
+     * Encodes a snapshot sent to one session only, outside the sequence of its node.
+     */
+    static DashboardFrames detached(ObjectMapper objectMapper, GlobalResponse data) throws JsonProcessingException {
+        JsonNode tree = objectMapper.valueToTree(data);
+        CachedMessage message = CachedMessage.success(data, objectMapper.writeValueAsString(tree));
+        return new DashboardFrames(objectMapper, message, 0L, tree, null);
+    }
+
+    /**
+     * Encodes a failure to fetch the data, sent as is in every mode.
+     */
+    static DashboardFrames error(ObjectMapper objectMapper, Map<String, Object> payload)
+            throws JsonProcessingException {
+        JsonNode tree = objectMapper.valueToTree(payload);
+        CachedMessage message = CachedMessage.error(tree.path("errorMessage").asText(null),
+                objectMapper.writeValueAsString(tree));
+        return new DashboardFrames(objectMapper, message, 0L, tree, null);
+    }
+
+    CachedMessage message() {
+        return message;
+    }
+
+    long seq() {
+        return seq;
+    }
+
+    boolean isError() {
+        return message.isError();
+    }
+
+    /**
+     * @return true if both snapshots have the same content apart from the counters changing on every poll, as told
+     * by their fingerprints
+     */
+    boolean sameContentAs(DashboardFrames other) {
+        return other != null && !isError() && !other.isError() && fingerprint == other.fingerprint;
+    }
+
+    /**
+     * @return true if both snapshots have the same JSON text, counters included
+     */
+    boolean identicalTo(DashboardFrames other) {
+        return sameContentAs(other) && message.serializedJson().equals(other.message.serializedJson());
+    }
+
+    /**
+     * Fingerprints a snapshot without the uptime and the byte counters of the peers.
+     */
+    private static long contentFingerprint(ObjectMapper objectMapper, JsonNode tree) {
+        JsonNode content = tree.deepCopy();
+        if (content instanceof ObjectNode object) {
+            object.remove(UP_TIME);
+            for (String list : PEER_LISTS) {
+                object.path(list).forEach(peer -> {
+                    if (peer instanceof ObjectNode entry) {
+                        entry.remove(PEER_COUNTERS);
+                    }
+                });
+            }
+        }
+        return fingerprint(write(objectMapper, content));
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a JSON text: fast, and not meant to resist crafted collisions, which the data sent by
+     * the node cannot aim at.
+     */
+    static long fingerprint(String json) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < json.length(); i++) {
+            hash = (hash ^ json.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Selects the frame to send to a session: a heartbeat if the session already holds this snapshot, the full
+     * payload in full mode, otherwise a delta frame if the session holds the previous snapshot, or a snapshot frame.
+     *
+     * @param deltaMode whether the session uses the delta protocol
+     * @param sessionSeq the sequence number of the last snapshot the session received, 0 if none
+     */
+    Kind kindFor(boolean deltaMode, long sessionSeq) {
+        if (isError()) {
+            return Kind.FULL;
+        }
+        if (seq == 0L) {
+            // Detached: the session cannot hold it yet, nor build on any previous snapshot
+            return deltaMode ? Kind.SNAPSHOT : Kind.FULL;
+        }
+        if (sessionSeq == seq) {
+            return Kind.HEARTBEAT;
+        }
+        if (!deltaMode) {
+            return Kind.FULL;
+        }
+        if (sessionSeq != 0L && sessionSeq == previousSeq && node(Kind.DELTA) != null) {
+            return Kind.DELTA;
+        }
+        return Kind.SNAPSHOT;
+    }
+
+    /**
+     * Returns the JSON text of the frame to send to a session subscribed to all topics (see {@link #kindFor}).
+     */
+    String frameFor(boolean deltaMode, long sessionSeq) {
+        return json(kindFor(deltaMode, sessionSeq), DashboardTopic.ALL);
+    }
+
+    /**
+     * Returns a frame as JSON text.
+     *
+     * @param topics the topics whose fields the frame carries
+     */
+    synchronized String json(Kind kind, Set<DashboardTopic> topics) {
+        Frame frame = frame(kind, topics);
+        if (frame.json == null) {
+            frame.json = write(objectMapper, frame.node);
+        }
+        return frame.json;
+    }
+
+    /**
+     * Returns a frame as a binary message: CBOR and/or compressed JSON.
+     *
+     * @param topics the topics whose fields the frame carries
+     */
+    synchronized byte[] binary(Kind kind, Set<DashboardTopic> topics, boolean cbor, boolean deflate) {
+        Frame frame = frame(kind, topics);
+        if (cbor && frame.cbor == null) {
+            frame.cbor = writeBytes(CBOR_MAPPER, frame.node);
+        }
+        if (!deflate) {
+            return frame.cbor;
+        }
+        if (cbor) {
+            if (frame.deflatedCbor == null) {
+                frame.deflatedCbor = deflate(frame.cbor);
+            }
+            return frame.deflatedCbor;
+        }
+        if (frame.deflatedJson == null) {
+            frame.deflatedJson = deflate(json(kind, topics).getBytes(StandardCharsets.UTF_8));
+        }
+        return frame.deflatedJson;
+    }
+
+    /**
+     * Compresses a frame into a raw DEFLATE stream, independent of any other frame.
+     */
+    static byte[] deflate(byte[] frame) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(frame);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(DEFLATE_BUFFER_SIZE);
+            byte[] buffer = new byte[DEFLATE_BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns a frame restricted to some topics, building it on first use.
+     */
+    private synchronized Frame frame(Kind kind, Set<DashboardTopic> topics) {
+        FrameKey key = new FrameKey(kind, topics);
+        Frame frame = frames.get(key);
+        if (frame == null) {
+            frame = new Frame(select(kind, node(kind), topics), null);
+            frames.put(key, frame);
+        }
+        return frame;
+    }
+
+    /**
+     * Returns the frame of all topics, building the snapshot and delta frames on first use; null if there is no
+     * delta frame.
+     */
+    private synchronized JsonNode node(Kind kind) {
+        JsonNode node = nodes.get(kind);
+        if (node != null) {
+            return node;
+        }
+        if (kind == Kind.SNAPSHOT) {
+            ObjectNode snapshot = objectMapper.createObjectNode()
+                    .put("type", TYPE_SNAPSHOT)
+                    .put("seq", seq);
+            snapshot.set("data", tree);
+            node = snapshot;
+        } else if (kind == Kind.HEARTBEAT) {
+            node = objectMapper.createObjectNode()
+                    .put("type", TYPE_HEARTBEAT)
+                    .put("seq", seq);
+        } else if (kind == Kind.DELTA && previousTree != null) {
+            ObjectNode delta = objectMapper.createObjectNode()
+                    .put("type", TYPE_DELTA)
+                    .put("seq", seq)
+                    .put("base", previousSeq);
+            delta.set("changes", diff(objectMapper, previousTree, tree));
+            node = delta;
+            // The previous snapshot is no longer needed
+            previousTree = null;
+        } else {
+            return null;
+        }
+        nodes.put(kind, node);
+        return node;
+    }
+
+    /**
+     * Keeps the fields of the given topics, and the errors, of the dashboard data carried by a frame.
+     */
+    private JsonNode select(Kind kind, JsonNode node, Set<DashboardTopic> topics) {
+        if (isError() || kind == Kind.HEARTBEAT || topics.containsAll(DashboardTopic.ALL)) {
+            return node;
+        }
+        if (kind == Kind.FULL) {
+            return selectFields(node, topics);
+        }
+        String dataField = kind == Kind.SNAPSHOT ? "data" : "changes";
+        ObjectNode selected = objectMapper.createObjectNode();
+        node.properties().forEach(field -> selected.set(field.getKey(), field.getValue()));
+        selected.set(dataField, selectFields(node.get(dataField), topics));
+        return selected;
+    }
+
+    private ObjectNode selectFields(JsonNode data, Set<DashboardTopic> topics) {
+        Set<String> fields = new HashSet<>();
+        fields.add(DashboardTopic.ERRORS_FIELD);
+        topics.forEach(topic -> fields.addAll(topic.fields()));
+        ObjectNode selected = objectMapper.createObjectNode();
+        for (Map.Entry<String, JsonNode> field : data.properties()) {
+            if (fields.contains(field.getKey())) {
+                selected.set(field.getKey(), field.getValue());
+            }
+        }
+        return selected;
+    }
+
+    private static String write(ObjectMapper mapper, JsonNode node) {
+        try {
+            return mapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode dashboard frame", e);
+        }
+    }
+
+    private static byte[] writeBytes(ObjectMapper mapper, JsonNode node) {
+        try {
+            return mapper.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode dashboard frame", e);
+        }
+    }
+
+    /**
+     * Lists the top-level fields of {@code current} that differ from {@code previous}. Null sections are left
+     * out of the payload, so a field that disappeared is sent as an explicit {@code null}.
+     */
+    static ObjectNode diff(ObjectMapper objectMapper, JsonNode previous, JsonNode current) {
+        ObjectNode changes = objectMapper.createObjectNode();
+        for (Map.Entry<String, JsonNode> field : current.properties()) {
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            JsonNode old = previous.get(name);
+            if (value.equals(old)) {
+                continue;
+            }
+            if (PEER_LISTS.contains(name) && old != null && old.isArray() && value.isArray()) {
+                changes.set(name, diffPeers(objectMapper, old, value));
+            } else {
+                changes.set(name, value);
+            }
+        }
+        for (Map.Entry<String, JsonNode> field : previous.properties()) {
+            if (!current.has(field.getKey())) {
+                changes.putNull(field.getKey());
+            }
+        }
+        return changes;
+    }
+
+    private static ObjectNode diffPeers(ObjectMapper objectMapper, JsonNode previous, JsonNode current) {
+        Map<JsonNode, JsonNode> previousById = new LinkedHashMap<>();
+        previous.forEach(peer -> previousById.put(peer.get(PEER_ID), peer));
+
+        ObjectNode changes = objectMapper.createObjectNode();
+        ArrayNode added = changes.putArray("added");
+        ArrayNode updated = changes.putArray("updated");
+        ArrayNode removed = changes.putArray("removed");
+        for (JsonNode peer : current) {
+            JsonNode old = previousById.remove(peer.get(PEER_ID));
+            if (old == null) {
+                added.add(peer);
+            } else if (!old.equals(peer)) {
+                updated.add(peer);
+            }
+        }
+        previousById.keySet().forEach(removed::add);
+        return changes;
+    }
+}
@@ -1,38 +1,144 @@
 package comasky.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.config.DashboardConfig;
 import comasky.rpcClass.DashboardDataProvider;
+import comasky.rpcClass.DashboardSnapshot;
+import comasky.rpcClass.DashboardTopic;
+import comasky.rpcClass.dto.GlobalResponse;
+import comasky.rpcClass.dto.SessionStats;
+import comasky.rpcClass.dto.WebSocketStats;
+import comasky.service.NodeRegistry;
+import comasky.service.SnapshotPoller;
 import io.quarkus.scheduler.Scheduled;
-import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.websocket.CloseReason;
 import jakarta.websocket.OnClose;
+import jakarta.websocket.OnMessage;
 import jakarta.websocket.OnOpen;
+import jakarta.websocket.SendHandler;
 import jakarta.websocket.Session;
 import jakarta.websocket.server.ServerEndpoint;
 import org.jboss.logging.Logger;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * WebSocket endpoint for real-time dashboard updates.
  * <p>
- * Broadcasts Bitcoin node data to all connected clients at configured intervals using a reactive approach.
- * It leverages Quarkus's built-in caching and a custom JSON encoder for serialization.
+ * Broadcasts Bitcoin node data to all connected clients using a reactive approach: while a node has sessions, the
+ * endpoint subscribes to its snapshot stream ({@link DashboardDataProvider#snapshots}) and broadcasts each snapshot
+ * the moment the poller publishes it (see {@link SnapshotPoller}), once per polling interval and right away when a
+ * new block is notified. This endpoint serves the default node; the other configured nodes are served on {@code /ws/dashboard/{node}}
+ * (see {@link NodeDashboardWebSocket}). Sessions are grouped by node and each node is fetched and broadcast
+ * independently, so a slow node does not delay the others.
+ * It leverages Quarkus's built-in caching. Each snapshot is serialized once into a {@link CachedMessage}, whose
+ * JSON text is then sent as is to every session of the node.
+ * <p>
+ * Clients connecting with {@code ?mode=delta} receive a full snapshot first, then only the changes since the
+ * previous snapshot, each frame carrying a sequence number (see {@link DashboardFrames}). A client that detects a
+ * gap sends {@code {"type":"resync"}} to get a full snapshot again. Clients connecting with {@code ?compress=deflate}
+ * receive the frames compressed, each compressed once for all of them.
+ * <p>
+ * Frames are JSON text by default. Clients negotiating the {@code dashboard.cbor} subprotocol
+ * ({@code Sec-WebSocket-Protocol}) receive the same frames as CBOR binary messages instead, which are smaller and
+ * cheaper to parse on low-power displays.
+ * <p>
+ * A client can subscribe to some topics only (see {@link #receive}); each node is then only fetched for the topics
+ * its sessions subscribed to, and sessions receive the fields of their topics.
+ * <p>
+ * Each session holds at most one frame in flight plus the latest pending snapshot (see {@link SessionOutbox}):
+ * snapshots produced while a slow client is still receiving are replaced rather than queued, and a session whose
+ * frame stays in flight beyond {@code dashboard.sessions.send.timeout.ms} is closed.
+ * <p>
+ * New sessions are sent the last complete snapshot broadcast to their node, without fetching anything. Only when the
+ * node has no other open session (so nothing kept that snapshot up to date) is the node fetched, once for all the
+ * sessions connecting meanwhile, e.g. after a proxy restart.
+ * <p>
+ * A snapshot identical to the last one broadcast to a node, or only differing by the counters changing on every poll
+ * (the uptime and the byte counters of the peers), is not broadcast. Once {@code dashboard.polling.heartbeat.seconds}
+ * have elapsed, the counters are broadcast if they changed; otherwise the snapshot is delivered once more, so that
+ * up-to-date sessions get a heartbeat: a {@code heartbeat} frame in delta mode, a WebSocket ping otherwise.
+ * <p>
+ * At most {@code dashboard.sessions.max} sessions are admitted across all nodes. Past the limit, a stuck session
+ * is evicted to make room if there is one; otherwise the new session is closed with {@code TRY_AGAIN_LATER} and a
+ * randomized retry delay, so that clients reconnecting after a restart spread out.
  */
-@ServerEndpoint(value = "/ws/dashboard", encoders = {JsonEncoder.class})
+@ServerEndpoint(value = "/ws/dashboard", encoders = {JsonEncoder.class},
+        subprotocols = {DashboardWebSocket.SUBPROTOCOL_JSON, DashboardWebSocket.SUBPROTOCOL_CBOR})
 @ApplicationScoped
 public class DashboardWebSocket {
 
     private static final Logger LOG = Logger.getLogger(DashboardWebSocket.class);
 
-    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    static final String MODE_PARAM = "mode";
+    static final String DELTA_MODE = "delta";
+    static final String RESYNC = "resync";
+    static final String SUBSCRIBE = "subscribe";
+    static final String COMPRESS_PARAM = "compress";
+    static final String DEFLATE = "deflate";
+    static final String SUBPROTOCOL_JSON = "dashboard.json";
+    static final String SUBPROTOCOL_CBOR = "dashboard.cbor";
+
+    // Session user properties of the delta protocol
+    private static final String DELTA_MODE_PROPERTY = "dashboard.delta";
+    private static final String DEFLATE_PROPERTY = "dashboard.deflate";
+    private static final String SEQ_PROPERTY = "dashboard.seq";
+    private static final String TOPICS_PROPERTY = "dashboard.topics";
+    private static final String OUTBOX_PROPERTY = "dashboard.outbox";
+
+    private static final ByteBuffer EMPTY_PING = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+    private final Map<String, Set<Session>> sessionsByNode = new ConcurrentHashMap<>();
+
+    // Sessions counted against dashboard.sessions.max
+    private final Set<Session> admittedSessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    // Last encoded snapshot of each node, reused while the cache returns the same data
+    private final Map<String, DashboardFrames> lastFramesByNode = new ConcurrentHashMap<>();
+
+    // Last snapshot broadcast to each node, the topics it holds, and when
+    private final Map<String, Broadcast> lastBroadcastByNode = new ConcurrentHashMap<>();
+
+    // Nodes being fetched for sessions that connected while no up-to-date snapshot was at hand
+    private final Set<String> fetchingForNewSessions = ConcurrentHashMap.newKeySet();
+
+    // Subscription to the snapshot stream of each node with sessions
+    private final Map<String, Cancellable> snapshotSubscriptions = new ConcurrentHashMap<>();
+
+    private record Broadcast(DashboardFrames frames, Set<DashboardTopic> topics, long nanoTime) {
+    }
 
     @Inject
-    DashboardDataProvider dataProvider;
+    NodeRegistry nodeRegistry;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DashboardConfig dashboardConfig;
 
     /**
      * Validates that a session is not null and is open.
@@ -62,136 +168,587 @@ public class DashboardWebSocket {
     }
 
     /**
-     * Creates a Uni that emits a unified Object payload.
-     * On success, it emits the GlobalResponse.
-     * On failure, it emits a Map representing the error.
-     * This robustly handles type differences between success and failure paths.
+     * Creates a Uni that emits the encoded dashboard data of a node.
+     * On success, it emits the serialized GlobalResponse.
+     * On failure, it emits a serialized Map representing the error.
      *
-     * @return A Uni<Object> ready to be sent via WebSocket.
+     * @param topics the topics to fetch
+     * @param detached whether the data is fetched for a single session, in which case it is encoded outside the
+     *                 sequence of the node (see {@link DashboardFrames#detached})
+     * @return A Uni<DashboardFrames> ready to be sent via WebSocket.
      */
-    private Uni<Object> getUnifiedDashboardData() {
+    private Uni<DashboardFrames> getEncodedDashboardData(String node, DashboardDataProvider dataProvider,
+                                                         Set<DashboardTopic> topics, boolean detached) {
+        Uni<GlobalResponse> response = topics.containsAll(DashboardTopic.ALL)
+                ? dataProvider.getData()
+                : dataProvider.getData(topics);
         return Uni.createFrom().emitter(emitter ->
-                dataProvider.getData().subscribe().with(
-                        emitter::complete,
-                        failure -> emitter.complete(createErrorPayload(failure))
+                response.subscribe().with(
+                        data -> {
+                            try {
+                                emitter.complete(detached
+                                        ? DashboardFrames.detached(objectMapper, data)
+                                        : encode(node, data));
+                            } catch (JsonProcessingException e) {
+                                emitter.fail(e);
+                            }
+                        },
+                        failure -> {
+                            try {
+                                emitter.complete(encodeError(failure));
+                            } catch (JsonProcessingException e) {
+                                emitter.fail(e);
+                            }
+                        }
                 )
         );
     }
 
     /**
-     * Periodically fetches and broadcasts the latest dashboard data to all connected WebSocket clients.
+     * Serializes a snapshot once; the same data instance (e.g. served by the cache) is not serialized again.
+     * Each new snapshot of a node gets the next sequence number, unless its content is the same as the last one's,
+     * which is then kept. A snapshot only differing by the counters changing on every poll is kept out as well, until
+     * the last one is due as a heartbeat: the counters are then refreshed instead. Snapshots of the same node are
+     * encoded one at a time, so that two of them never get the same sequence number.
+     */
+    private DashboardFrames encode(String node, GlobalResponse data) throws JsonProcessingException {
+        try {
+            return lastFramesByNode.compute(node, (_, last) -> {
+                if (last != null && last.message().data() == data) {
+                    return last;
+                }
+                DashboardFrames frames;
+                try {
+                    frames = DashboardFrames.snapshot(objectMapper, data, last);
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return frames.sameContentAs(last) && (frames.identicalTo(last) || !heartbeatDue(last)) ? last : frames;
+            });
+        } catch (UncheckedIOException e) {
+            throw (JsonProcessingException) e.getCause();
+        }
+    }
+
+    /**
+     * @return whether a snapshot was encoded at least {@code dashboard.polling.heartbeat.seconds} ago
+     */
+    private boolean heartbeatDue(DashboardFrames frames) {
+        int heartbeatSeconds = dashboardConfig.polling().heartbeatSeconds();
+        long ageMs = System.currentTimeMillis() - frames.message().timestamp();
+        return heartbeatSeconds > 0 && ageMs >= TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+    }
+
+    private DashboardFrames encodeError(Throwable failure) throws JsonProcessingException {
+        return DashboardFrames.error(objectMapper, createErrorPayload(failure));
+    }
+
+    /**
+     * Subscribes to the snapshots of a node, which makes the poller fetch it for the topics of its sessions.
+     */
+    private void subscribeToSnapshots(String node, DashboardDataProvider dataProvider) {
+        snapshotSubscriptions.computeIfAbsent(node, _ -> dataProvider.snapshots(() -> subscribedTopics(node))
+                .subscribe().with(
+                        snapshot -> onSnapshot(node, snapshot),
+                        failure -> LOG.errorf(failure, "Snapshot stream of node %s failed", node)
+                ));
+    }
+
+    /**
+     * Stops receiving the snapshots of a node once it has no session left, so that it is not polled anymore.
+     */
+    private void unsubscribeIfIdle(String node) {
+        snapshotSubscriptions.computeIfPresent(node, (_, subscription) -> {
+            Set<Session> sessions = sessionsByNode.get(node);
+            if (sessions != null && !sessions.isEmpty()) {
+                return subscription;
+            }
+            subscription.cancel();
+            return null;
+        });
+    }
+
+    /**
+     * Broadcasts a snapshot published on the stream of a node. The intermediate snapshots of a progressive fetch
+     * only go to delta mode sessions, which receive the sections that changed; full mode sessions wait for the
+     * complete snapshot rather than receiving the whole payload once per section.
      */
-    @Scheduled(every = "${dashboard.polling.interval.seconds}s", identity = "dashboard-broadcast")
-    void scheduledBroadcast() {
-        if (sessions.isEmpty()) {
+    private void onSnapshot(String node, DashboardSnapshot snapshot) {
+        Set<Session> sessions = sessionsByNode.get(node);
+        if (sessions == null || sessions.isEmpty()) {
             return;
         }
-        getUnifiedDashboardData()
+        try {
+            broadcastMessage(node, sessions, encode(node, snapshot.data()), snapshot.topics(), snapshot.progressive());
+        } catch (JsonProcessingException | RuntimeException e) {
+            LOG.errorf(e, "Failed to broadcast a snapshot of node %s", node);
+        }
+    }
+
+    /**
+     * @return the topics the sessions of a node are subscribed to, none if it has no session
+     */
+    private Set<DashboardTopic> subscribedTopics(String node) {
+        Set<DashboardTopic> topics = EnumSet.noneOf(DashboardTopic.class);
+        Set<Session> sessions = sessionsByNode.get(node);
+        if (sessions == null) {
+            return topics;
+        }
+        for (Session session : sessions) {
+            topics.addAll(topics(session));
+            if (topics.size() == DashboardTopic.ALL.size()) {
+                break;
+            }
+        }
+        return topics;
+    }
+
+    /**
+     * Fetches the topics the sessions of a node are subscribed to for the sessions that just connected, and
+     * broadcasts them to the sessions that do not hold them yet.
+     */
+    private void fetchForNewSessions(String node, Set<Session> sessions, DashboardDataProvider dataProvider) {
+        Set<DashboardTopic> topics = subscribedTopics(node);
+        getEncodedDashboardData(node, dataProvider, topics, false)
+                .onTermination().invoke(() -> fetchingForNewSessions.remove(node))
                 .subscribe().with(
-                        this::broadcastMessage,
+                        frames -> broadcastMessage(node, sessions, frames, topics, false),
                         failure -> LOG.error("Failed to subscribe for broadcast.", failure)
                 );
     }
 
+    /**
+     * Records a snapshot as the last one broadcast to the node, unless it is unchanged and no heartbeat is due.
+     *
+     * @return whether the snapshot is unchanged and due as a heartbeat, so also sent to the sessions holding it
+     */
+    private boolean recordBroadcast(String node, DashboardFrames frames, Set<DashboardTopic> topics) {
+        long now = System.nanoTime();
+        Broadcast last = lastBroadcastByNode.get(node);
+        int heartbeatSeconds = dashboardConfig.polling().heartbeatSeconds();
+        boolean unchanged = last != null && last.frames() == frames;
+        if (unchanged && (heartbeatSeconds == 0 || now - last.nanoTime() < TimeUnit.SECONDS.toNanos(heartbeatSeconds))) {
+            return false;
+        }
+        lastBroadcastByNode.put(node, new Broadcast(frames, topics, now));
+        return unchanged;
+    }
+
     /**
      * Periodically cleans up closed sessions to prevent memory leaks.
      */
     @Scheduled(every = "5m", identity = "session-cleanup")
     void cleanupClosedSessions() {
-        int sizeBefore = sessions.size();
-        sessions.removeIf(session -> !session.isOpen());
-        int removed = sizeBefore - sessions.size();
+        int sizeBefore = sessionCount();
+        sessionsByNode.values().forEach(sessions -> sessions.removeIf(session -> !session.isOpen()));
+        sessionsByNode.keySet().forEach(this::unsubscribeIfIdle);
+        int removed = sizeBefore - sessionCount();
         if (removed > 0) {
-            LOG.debugf("Cleaned up %d closed sessions (remaining: %d)", removed, sessions.size());
+            LOG.debugf("Cleaned up %d closed sessions (remaining: %d)", removed, sessionCount());
         }
     }
 
+    private int sessionCount() {
+        return sessionsByNode.values().stream().mapToInt(Set::size).sum();
+    }
+
 
     @OnOpen
     public void onOpen(Session session) {
-        sessions.add(session);
-        LOG.debugf("WebSocket opened: %s (total: %d)", session.getId(), sessions.size());
-        sendDataToSession(session);
+        open(NodeRegistry.DEFAULT_NODE, session);
     }
 
     @OnClose
     public void onClose(Session session) {
-        sessions.remove(session);
-        LOG.debugf("WebSocket closed: %s (remaining: %d)", session.getId(), sessions.size());
+        close(NodeRegistry.DEFAULT_NODE, session);
+    }
+
+    @OnMessage
+    public void onMessage(Session session, String message) {
+        receive(NodeRegistry.DEFAULT_NODE, session, message);
+    }
+
+    /**
+     * Registers a session on the channel of the given node and sends it the latest data of that node (see
+     * {@link #sendLastSnapshot}). The session is closed right away if the session limit is reached.
+     *
+     * @return false if no such node is configured
+     */
+    boolean open(String node, Session session) {
+        Optional<? extends DashboardDataProvider> dataProvider = nodeRegistry.get(node);
+        if (dataProvider.isEmpty()) {
+            return false;
+        }
+        if (!admit(session)) {
+            reject(session);
+            return true;
+        }
+        session.getUserProperties().put(DELTA_MODE_PROPERTY, hasParameter(session, MODE_PARAM, DELTA_MODE));
+        session.getUserProperties().put(DEFLATE_PROPERTY, hasParameter(session, COMPRESS_PARAM, DEFLATE));
+        session.getUserProperties().put(OUTBOX_PROPERTY, new SessionOutbox(dashboardConfig.sessions().sendTimeoutMs()));
+        Set<Session> sessions = sessionsByNode.computeIfAbsent(node, _ -> ConcurrentHashMap.newKeySet());
+        sessions.add(session);
+        LOG.debugf("WebSocket opened: %s on node %s (total: %d)", session.getId(), node, sessionCount());
+        subscribeToSnapshots(node, dataProvider.get());
+        sendLastSnapshot(node, session, sessions, dataProvider.get());
+        return true;
+    }
+
+    /**
+     * Sends a new session the last snapshot broadcast to its node, which the broadcasts keep up to date while the
+     * node has other open sessions. Otherwise the node is fetched and broadcast, once for all the sessions connecting
+     * until the fetch completes, so that new sessions never make RPC calls of their own.
+     */
+    private void sendLastSnapshot(String node, Session session, Set<Session> sessions,
+                                  DashboardDataProvider dataProvider) {
+        Broadcast last = lastBroadcastByNode.get(node);
+        boolean kept = sessions.stream().anyMatch(other -> other != session && other.isOpen());
+        if (kept && last != null && last.topics().containsAll(topics(session))) {
+            deliver(sessions, session, last.frames());
+        } else if (fetchingForNewSessions.add(node)) {
+            fetchForNewSessions(node, sessions, dataProvider);
+        }
+    }
+
+    /**
+     * Removes a session from the channel of the given node.
+     */
+    void close(String node, Session session) {
+        Set<Session> sessions = sessionsByNode.get(node);
+        if (sessions != null) {
+            sessions.remove(session);
+        }
+        release(session);
+        unsubscribeIfIdle(node);
+        LOG.debugf("WebSocket closed: %s on node %s (remaining: %d)", session.getId(), node, sessionCount());
+    }
+
+    /**
+     * Takes a slot for a new session, evicting stuck sessions while the limit is reached.
+     *
+     * @return false if no slot could be freed
+     */
+    private boolean admit(Session session) {
+        int max = dashboardConfig.sessions().max();
+        while (true) {
+            int current = admitted.get();
+            if (current < max) {
+                if (admitted.compareAndSet(current, current + 1)) {
+                    admittedSessions.add(session);
+                    return true;
+                }
+            } else if (!evictStuckSession()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Gives back the slot of a session; does nothing if it was already given back.
+     */
+    private void release(Session session) {
+        if (admittedSessions.remove(session)) {
+            admitted.decrementAndGet();
+        }
+    }
+
+    /**
+     * Closes a session whose frame has been in flight beyond the send deadline, if any.
+     */
+    private boolean evictStuckSession() {
+        for (Set<Session> sessions : sessionsByNode.values()) {
+            for (Session session : sessions) {
+                if (outbox(session).isStuck() && admittedSessions.contains(session)) {
+                    evicted.incrementAndGet();
+                    closeStuckSession(sessions, session);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Refuses a session past the limit, asking the client to retry after one to two polling intervals.
+     */
+    private void reject(Session session) {
+        rejected.incrementAndGet();
+        int interval = dashboardConfig.polling().seconds();
+        int retryAfter = interval + ThreadLocalRandom.current().nextInt(interval + 1);
+        LOG.warnf("Rejecting WebSocket %s: %d sessions open (max %d)", session.getId(), admitted.get(),
+                dashboardConfig.sessions().max());
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER,
+                    "Too many sessions, retry in " + retryAfter + "s"));
+        } catch (IOException e) {
+            LOG.debugf("Failed to close WebSocket %s: %s", session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Handles a message from a client of the given node:
+     * <ul>
+     *     <li>{@code {"type":"subscribe","topics":["block","mempool"]}} restricts the updates to some topics (see
+     *     {@link DashboardTopic}); an empty list subscribes to the whole dashboard again.</li>
+     *     <li>{@code {"type":"resync"}}, from a delta mode client that detected a gap in the sequence numbers,
+     *     requests a full snapshot.</li>
+     * </ul>
+     * Both are answered right away with the current data. Other messages are ignored.
+     */
+    void receive(String node, Session session, String message) {
+        Set<Session> sessions = sessionsByNode.get(node);
+        if (sessions == null || !sessions.contains(session)) {
+            return;
+        }
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(message);
+        } catch (JsonProcessingException e) {
+            LOG.debugf("Ignoring malformed message from session %s", session.getId());
+            return;
+        }
+        String type = request.path("type").asText();
+        if (SUBSCRIBE.equals(type)) {
+            Set<DashboardTopic> topics = parseTopics(request.path("topics"));
+            LOG.debugf("Session %s on node %s subscribed to %s", session.getId(), node, topics);
+            session.getUserProperties().put(TOPICS_PROPERTY, topics);
+        } else if (RESYNC.equals(type) && isDeltaMode(session)) {
+            LOG.debugf("Resync requested by session %s on node %s", session.getId(), node);
+        } else {
+            LOG.debugf("Ignoring message from session %s", session.getId());
+            return;
+        }
+        // Forget what the session holds, so that it gets a snapshot frame
+        session.getUserProperties().remove(SEQ_PROPERTY);
+        nodeRegistry.get(node).ifPresent(dataProvider -> sendDataToSession(node, session, sessions, dataProvider));
+    }
+
+    /**
+     * Reads the topics of a subscribe message; unknown topics are ignored and no topic means all of them.
+     */
+    private static Set<DashboardTopic> parseTopics(JsonNode names) {
+        Set<DashboardTopic> topics = EnumSet.noneOf(DashboardTopic.class);
+        names.forEach(name -> DashboardTopic.fromId(name.asText()).ifPresent(topics::add));
+        return topics.isEmpty() ? DashboardTopic.ALL : Collections.unmodifiableSet(topics);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<DashboardTopic> topics(Session session) {
+        Object topics = session.getUserProperties().get(TOPICS_PROPERTY);
+        return topics != null ? (Set<DashboardTopic>) topics : DashboardTopic.ALL;
+    }
+
+    private static boolean hasParameter(Session session, String name, String value) {
+        List<String> values = session.getRequestParameterMap().get(name);
+        return values != null && values.contains(value);
+    }
+
+    private static boolean isDeflate(Session session) {
+        return Boolean.TRUE.equals(session.getUserProperties().get(DEFLATE_PROPERTY));
+    }
+
+    private static boolean isDeltaMode(Session session) {
+        return Boolean.TRUE.equals(session.getUserProperties().get(DELTA_MODE_PROPERTY));
+    }
+
+    private SessionOutbox outbox(Session session) {
+        return (SessionOutbox) session.getUserProperties().computeIfAbsent(OUTBOX_PROPERTY,
+                _ -> new SessionOutbox(dashboardConfig.sessions().sendTimeoutMs()));
+    }
+
+    private static long lastSeq(Session session) {
+        return session.getUserProperties().get(SEQ_PROPERTY) instanceof Long seq ? seq : 0L;
     }
 
     /**
      * Sends the latest dashboard data to a specific WebSocket session.
+     * The whole dashboard is the node's shared snapshot; the data of some topics only is fetched for this session
+     * alone, so it is sent without becoming the node's last snapshot.
      */
-    private void sendDataToSession(Session session) {
+    private void sendDataToSession(String node, Session session, Set<Session> sessions, DashboardDataProvider dataProvider) {
         if (!isSessionValid(session)) {
             LOG.warn("Attempted to send data to a null or closed session.");
             return;
         }
 
-        getUnifiedDashboardData()
-                .onItem().transformToUni(data -> {
-                    // Double-check session is still open before sending
-                    if (!isSessionValid(session)) {
-                        LOG.debugf("Session %s closed before initial data could be sent", session.getId());
-                        return Uni.createFrom().voidItem();
-                    }
-                    return sendMessage(session, data);
-                })
+        Set<DashboardTopic> topics = topics(session);
+        getEncodedDashboardData(node, dataProvider, topics, !topics.containsAll(DashboardTopic.ALL))
                 .subscribe().with(
-                        _ -> LOG.debugf("Initial data sent to session %s", session.getId()),
+                        data -> {
+                            // Double-check session is still open before sending
+                            if (!isSessionValid(session)) {
+                                LOG.debugf("Session %s closed before initial data could be sent", session.getId());
+                                return;
+                            }
+                            deliver(sessions, session, data);
+                        },
                         failure -> logSendFailure(session, failure, "initial send")
                 );
     }
 
     /**
-     * Broadcasts a message object to all connected and open WebSocket sessions concurrently.
+     * Broadcasts an encoded snapshot of some topics to the open WebSocket sessions of a node whose topics it covers.
+     * A snapshot unchanged since the last broadcast is only sent to the sessions that do not hold it yet, unless a
+     * heartbeat is due. Sends are asynchronous, so a slow session does not hold back the others.
+     *
+     * @param deltaOnly whether the snapshot is an intermediate one of a progressive fetch, sent to delta mode sessions
+     *                  only
      */
-    private void broadcastMessage(Object message) {
+    private void broadcastMessage(String node, Set<Session> sessions, DashboardFrames message,
+                                  Set<DashboardTopic> topics, boolean deltaOnly) {
         if (message == null) return;
         
         final int sessionCount = sessions.size();
         if (sessionCount == 0) return;
-        
-        LOG.debugf("Broadcasting to %d sessions", sessionCount);
-        Multi.createFrom().iterable(sessions)
-                .filter(Session::isOpen)
-                .onItem().transformToUniAndMerge(session ->
-                        sendMessage(session, message)
-                                .onFailure().recoverWithNull()
-                )
-                .collect().asList()
-                .subscribe().with(
-                        _ -> LOG.debug("Broadcast complete."),
-                        failure -> LOG.error("An unexpected error occurred during broadcast.", failure)
-                );
+
+        // A progressive snapshot is not the node's last broadcast: sessions connecting meanwhile get the last complete
+        // one, and the heartbeats follow the complete snapshots
+        boolean heartbeat = !deltaOnly && recordBroadcast(node, message, topics);
+        LOG.debugf("Broadcasting %s to %d sessions", heartbeat ? "a heartbeat" : "a snapshot", sessionCount);
+        for (Session session : sessions) {
+            if (session.isOpen() && topics.containsAll(topics(session)) && (!deltaOnly || isDeltaMode(session))
+                    && (heartbeat || lastSeq(session) != message.seq())) {
+                deliver(sessions, session, message);
+            }
+        }
+        LOG.debug("Broadcast complete.");
+    }
+
+    /**
+     * Sends a snapshot to a session right away if it is idle; otherwise keeps it as the session's pending snapshot,
+     * replacing any older one, and closes the session if its frame in flight has exceeded the send deadline.
+     */
+    private void deliver(Set<Session> sessions, Session session, DashboardFrames message) {
+        SessionOutbox outbox = outbox(session);
+        if (outbox.offer(message)) {
+            send(sessions, session, outbox, message);
+        } else if (outbox.isStuck()) {
+            closeStuckSession(sessions, session);
+        }
+    }
+
+    /**
+     * Sends a frame, then the snapshot that became pending meanwhile, if any.
+     * A failed send closes the session (see {@link #closeFailedSession}), so its outbox is not needed anymore.
+     */
+    private void send(Set<Session> sessions, Session session, SessionOutbox outbox, DashboardFrames message) {
+        sendMessage(sessions, session, message).subscribe().with(
+                _ -> {
+                    DashboardFrames next = outbox.next();
+                    if (next != null && isSessionValid(session)) {
+                        send(sessions, session, outbox, next);
+                    }
+                },
+                _ -> { }
+        );
     }
 
     /**
-     * Sends a message object to a single WebSocket session using a callback-based approach
+     * Drops a session a frame could not be sent to: gives back its slot, forgets its frames, and closes it.
+     */
+    private void closeFailedSession(Set<Session> sessions, Session session) {
+        sessions.remove(session);
+        release(session);
+        outbox(session).clear();
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Send failed"));
+        } catch (IOException e) {
+            LOG.debugf("Failed to close WebSocket %s: %s", session.getId(), e.getMessage());
+        }
+    }
+
+    private void closeStuckSession(Set<Session> sessions, Session session) {
+        LOG.warnf("Closing WebSocket %s: no frame could be sent for %d ms", session.getId(),
+                dashboardConfig.sessions().sendTimeoutMs());
+        sessions.remove(session);
+        release(session);
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Client too slow"));
+        } catch (IOException e) {
+            LOG.debugf("Failed to close WebSocket %s: %s", session.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return the session occupancy and admission counters, with the outbound state of every connected session
+     */
+    public WebSocketStats getStats() {
+        List<SessionStats> stats = new ArrayList<>();
+        sessionsByNode.forEach((node, sessions) -> sessions.forEach(session -> {
+            SessionOutbox outbox = outbox(session);
+            stats.add(new SessionStats(session.getId(), node, outbox.depth(), outbox.sent(), outbox.dropped()));
+        }));
+        return new WebSocketStats(dashboardConfig.sessions().max(), admitted.get(), rejected.get(), evicted.get(),
+                stats);
+    }
+
+    /**
+     * Sends an encoded message to a single WebSocket session using a callback-based approach
      * wrapped in a Mutiny Uni. This is the robust way to bridge the imperative WebSocket API
      * with the reactive world, avoiding threading issues.
+     * The pre-serialized JSON is sent as a text frame, so no per-session serialization happens; delta mode
+     * sessions get the shared snapshot or delta frame matching the last snapshot they received, and sessions that
+     * negotiated CBOR or asked for compression get the shared encoded frame as a binary message. A session that
+     * already holds the snapshot gets a heartbeat: the shared heartbeat frame in delta mode, a ping otherwise.
      *
+     * @param sessions the sessions of the node, from which the session is removed and closed if sending fails
      * @param session the session to send the message to
-     * @param message the object to send
+     * @param message the encoded snapshot to send
      * @return a Uni<Void> that completes on success or fails
      */
-    private Uni<Void> sendMessage(Session session, Object message) {
+    private Uni<Void> sendMessage(Set<Session> sessions, Session session, DashboardFrames message) {
+        boolean deltaMode = isDeltaMode(session);
+        DashboardFrames.Kind kind = message.kindFor(deltaMode, lastSeq(session));
+        if (!message.isError()) {
+            // A failed send drops the session, so the next frame can already build on this one
+            session.getUserProperties().put(SEQ_PROPERTY, message.seq());
+        } else {
+            // The error replaces the data on the client, which must get the next snapshot whole
+            session.getUserProperties().remove(SEQ_PROPERTY);
+        }
+        if (kind == DashboardFrames.Kind.HEARTBEAT && !deltaMode) {
+            return sendPing(sessions, session);
+        }
+        boolean cbor = SUBPROTOCOL_CBOR.equals(session.getNegotiatedSubprotocol());
+        boolean deflate = isDeflate(session);
+        Set<DashboardTopic> topics = topics(session);
+        byte[] binary = cbor || deflate ? message.binary(kind, topics, cbor, deflate) : null;
+        String text = binary == null ? message.json(kind, topics) : null;
         // Create the Uni and explicitly type it to Uni<Void> to resolve compiler inference issues.
         Uni<Void> sendUni = Uni.createFrom().emitter(emitter -> {
-            session.getAsyncRemote().sendObject(message, result -> {
+            SendHandler handler = result -> {
                 if (result.isOK()) {
                     emitter.complete(null);
                 } else {
                     emitter.fail(result.getException());
                 }
-            });
+            };
+            if (binary != null) {
+                // Each send needs its own buffer position over the shared bytes
+                session.getAsyncRemote().sendBinary(ByteBuffer.wrap(binary), handler);
+            } else {
+                session.getAsyncRemote().sendText(text, handler);
+            }
         });
 
         // Apply the side-effect on failure to the correctly typed Uni.
         return sendUni.onFailure().invoke(failure -> {
             logSendFailure(session, failure, "message send");
-            sessions.remove(session);
+            closeFailedSession(sessions, session);
+        });
+    }
+
+    private Uni<Void> sendPing(Set<Session> sessions, Session session) {
+        return Uni.createFrom().<Void>emitter(emitter -> {
+            try {
+                session.getAsyncRemote().sendPing(EMPTY_PING);
+                emitter.complete(null);
+            } catch (IOException e) {
+                emitter.fail(e);
+            }
+        }).onFailure().invoke(failure -> {
+            logSendFailure(session, failure, "heartbeat");
+            closeFailedSession(sessions, session);
         });
     }
 
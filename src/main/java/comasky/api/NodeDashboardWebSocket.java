@@ -0,0 +1,55 @@
+package comasky.api;
+
+import comasky.service.NodeRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.OnClose;
+import jakarta.websocket.OnMessage;
+import jakarta.websocket.OnOpen;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.PathParam;
+import jakarta.websocket.server.ServerEndpoint;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+
+/**
+ * WebSocket endpoint for the real-time updates of one of the monitored nodes, by name (see {@link NodeRegistry}).
+ * <p>
+ * Sessions are handed over to {@link DashboardWebSocket}, which polls and broadcasts each node independently.
+ * Connections to an unknown node are closed right away.
+ */
+@ServerEndpoint(value = "/ws/dashboard/{node}", encoders = {JsonEncoder.class},
+        subprotocols = {DashboardWebSocket.SUBPROTOCOL_JSON, DashboardWebSocket.SUBPROTOCOL_CBOR})
+@ApplicationScoped
+public class NodeDashboardWebSocket {
+
+    private static final Logger LOG = Logger.getLogger(NodeDashboardWebSocket.class);
+
+    @Inject
+    DashboardWebSocket dashboardWebSocket;
+
+    @OnOpen
+    public void onOpen(Session session, @PathParam("node") String node) {
+        if (dashboardWebSocket.open(node, session)) {
+            return;
+        }
+        LOG.debugf("Rejecting WebSocket %s: unknown node %s", session.getId(), node);
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, "Unknown node: " + node));
+        } catch (IOException e) {
+            LOG.debugf("Failed to close WebSocket %s: %s", session.getId(), e.getMessage());
+        }
+    }
+
+    @OnClose
+    public void onClose(Session session, @PathParam("node") String node) {
+        dashboardWebSocket.close(node, session);
+    }
+
+    @OnMessage
+    public void onMessage(Session session, String message, @PathParam("node") String node) {
+        dashboardWebSocket.receive(node, session, message);
+    }
+}
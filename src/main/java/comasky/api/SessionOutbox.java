@@ -0,0 +1,107 @@
+package comasky.api;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Outbound state of one WebSocket session: at most one frame in flight plus the latest pending snapshot.
+ * <p>
+ * A snapshot offered while a frame is still being sent replaces the pending one instead of being queued behind it,
+ * so a client on a slow link skips intermediate snapshots and the memory held per session stays bounded whatever
+ * the number of slow viewers. A session whose frame stays in flight longer than the deadline is reported stuck.
+ */
+final class SessionOutbox {
+
+    private static final long NANOS_TO_MILLIS = 1_000_000L;
+
+    private final long deadlineNanos;
+    private final LongSupplier nanoClock;
+
+    // Guarded by this
+    private boolean sending;
+    private long sendingSince;
+    private DashboardFrames pending;
+    private long sent;
+    private long dropped;
+
+    SessionOutbox(long deadlineMs) {
+        this(deadlineMs, System::nanoTime);
+    }
+
+    SessionOutbox(long deadlineMs, LongSupplier nanoClock) {
+        this.deadlineNanos = deadlineMs * NANOS_TO_MILLIS;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Offers a snapshot to the session.
+     *
+     * @return true if nothing is in flight and the caller must send the snapshot now; false if it is kept pending
+     * until the frame in flight is sent, replacing (dropping) the snapshot pending before it
+     */
+    synchronized boolean offer(DashboardFrames frames) {
+        if (!sending) {
+            start();
+            return true;
+        }
+        if (pending != null) {
+            dropped++;
+        }
+        pending = frames;
+        return false;
+    }
+
+    /**
+     * Records that the frame in flight was sent.
+     *
+     * @return the pending snapshot, which the caller must send now, or null once the session is idle
+     */
+    synchronized DashboardFrames next() {
+        sent++;
+        DashboardFrames next = pending;
+        pending = null;
+        if (next == null) {
+            sending = false;
+        } else {
+            start();
+        }
+        return next;
+    }
+
+    /**
+     * Forgets the frame in flight and drops the pending snapshot, once sending has failed.
+     */
+    synchronized void clear() {
+        if (pending != null) {
+            dropped++;
+            pending = null;
+        }
+        sending = false;
+    }
+
+    private void start() {
+        sending = true;
+        sendingSince = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return true if a frame has been in flight for longer than the deadline
+     */
+    synchronized boolean isStuck() {
+        return sending && nanoClock.getAsLong() - sendingSince > deadlineNanos;
+    }
+
+    /**
+     * @return the number of frames held for the session: the one in flight and the pending one, 2 at most
+     */
+    synchronized int depth() {
+        return (sending ? 1 : 0) + (pending != null ? 1 : 0);
+    }
+
+    synchronized long sent() {
+        return sent;
+    }
+
+    synchronized long dropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,75 @@
+package comasky.api;
+
+import comasky.rpcClass.dto.RpcLimiterStats;
+import comasky.rpcClass.dto.WebSocketStats;
+import comasky.service.NodeRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST API controller for runtime statistics.
+ * <p>
+ * Exposes the state of the adaptive RPC concurrency limiter of each monitored node, and the outbound state of each
+ * dashboard WebSocket session.
+ */
+@Path("/api/stats")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Statistics", description = "Runtime statistics endpoints")
+public class StatsController {
+
+    @Inject
+    NodeRegistry nodeRegistry;
+
+    @Inject
+    DashboardWebSocket dashboardWebSocket;
+
+    /**
+     * Retrieves the concurrency limiter state of each node.
+     *
+     * @return a {@link Uni} emitting the limiter statistics, keyed by node name
+     */
+    @GET
+    @Path("rpc")
+    @Operation(
+        summary = "Get RPC concurrency statistics",
+        description = "Retrieves the current concurrency limit, in-flight calls, queue depth and rejected calls of each node"
+    )
+    @APIResponse(
+        responseCode = "200",
+        description = "Statistics successfully retrieved"
+    )
+    public Uni<Map<String, RpcLimiterStats>> getRpcStats() {
+        Map<String, RpcLimiterStats> stats = new LinkedHashMap<>();
+        nodeRegistry.all().forEach((name, services) -> stats.put(name, services.getLimiterStats()));
+        return Uni.createFrom().item(stats);
+    }
+
+    /**
+     * Retrieves the dashboard WebSocket session occupancy and the outbound state of each session.
+     *
+     * @return a {@link Uni} emitting the session statistics
+     */
+    @GET
+    @Path("sessions")
+    @Operation(
+        summary = "Get WebSocket session statistics",
+        description = "Retrieves the open, rejected and evicted session counts, and the number of frames in flight or pending, sent and dropped for each dashboard session"
+    )
+    @APIResponse(
+        responseCode = "200",
+        description = "Statistics successfully retrieved"
+    )
+    public Uni<WebSocketStats> getSessionStats() {
+        return Uni.createFrom().item(dashboardWebSocket.getStats());
+    }
+}
@@ -0,0 +1,20 @@
+package comasky.client;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * {@link RpcClient} which can also send requests without blocking the calling thread (see {@link VertxRpcClient}).
+ * Callers use {@link #executeEncodedRpcCallAsync(Buffer)} directly on the event loop; plain {@link RpcClient}s are
+ * called on a worker thread.
+ */
+public interface AsyncRpcClient extends RpcClient {
+
+    /**
+     * Executes an already encoded Bitcoin Core RPC call, or JSON-RPC batch, without blocking.
+     * Callers encode the request themselves so that bodies which never change can be encoded once and reused.
+     * @param body the JSON request object or array
+     * @return a Uni emitting the raw JSON response
+     */
+    Uni<Buffer> executeEncodedRpcCallAsync(Buffer body);
+}
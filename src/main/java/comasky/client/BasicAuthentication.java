@@ -14,8 +14,7 @@ import java.util.Base64;
  */
 public class BasicAuthentication implements ClientRequestFilter {
 
-    private final String username;
-    private final String password;
+    private final String authorization;
 
     /**
      * Constructs a new BasicAuthentication filter.
@@ -23,14 +22,23 @@ public class BasicAuthentication implements ClientRequestFilter {
      * @param password The password for authentication.
      */
     public BasicAuthentication(String username, String password) {
-        this.username = username;
-        this.password = password;
+        // Credentials never change, so the header value is encoded once instead of on every request
+        this.authorization = headerValue(username, password);
     }
 
     @Override
     public void filter(ClientRequestContext requestContext) throws IOException {
-        String credentials = this.username + ":" + this.password;
-        String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
-        requestContext.getHeaders().putSingle(HttpHeaders.AUTHORIZATION, "Basic " + encodedCredentials);
+        requestContext.getHeaders().putSingle(HttpHeaders.AUTHORIZATION, authorization);
+    }
+
+    /**
+     * Builds the value of the Basic {@code Authorization} header for the given credentials.
+     * @param username The username for authentication.
+     * @param password The password for authentication.
+     * @return the header value, e.g. {@code Basic dXNlcjpwYXNz}
+     */
+    static String headerValue(String username, String password) {
+        String credentials = username + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -1,18 +1,36 @@
 package comasky.client;
 
+import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
 
 /**
  * REST client interface for Bitcoin Core RPC endpoint.
+ * <p>
+ * The annotated methods are implemented by the blocking MicroProfile REST client.
+ * Non-blocking implementations implement {@link AsyncRpcClient} instead.
  */
 public interface RpcClient {
     /**
      * Executes a Bitcoin Core RPC call and returns the raw JSON response.
+     * The body is returned as UTF-8 bytes so it can be bound by Jackson without an intermediate String.
      * @param rpcRequest the RPC request as a DTO
-     * @return the raw JSON response as a String
+     * @return the raw JSON response bytes
      */
     @POST
     @Path("/")
-    String executeRpcCall(RpcRequestDto rpcRequest);
+    byte[] executeRpcCall(RpcRequestDto rpcRequest);
+
+    /**
+     * Executes an already encoded Bitcoin Core RPC call, or JSON-RPC batch, sending the body as is.
+     * Callers encode the request themselves so that bodies which never change can be encoded once and reused.
+     * For a batch, the node answers with a JSON array holding one response object per request, matched by id.
+     * @param body the JSON request object or array
+     * @return the raw JSON response bytes
+     */
+    @POST
+    @Path("/")
+    @Consumes(MediaType.APPLICATION_JSON)
+    byte[] executeEncodedRpcCall(byte[] body);
 }
@@ -1,9 +1,13 @@
 package comasky.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import comasky.config.BitcoinRpcConfig;
+import comasky.config.RpcNodeConfig;
+import io.vertx.mutiny.core.Vertx;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.RestClientBuilder;
 
 import java.net.URI;
@@ -11,17 +15,35 @@ import java.net.URISyntaxException;
 
 /**
  * Producer for the RpcClient REST client, configured via typesafe properties.
+ * <p>
+ * The implementation is selected by {@code bitcoin.rpc.transport}: {@code rest} builds the blocking
+ * MicroProfile REST client, {@code vertx} builds the non-blocking {@link VertxRpcClient}.
  */
 @ApplicationScoped
 public class RpcClientProducer {
 
+    private static final String VERTX_TRANSPORT = "vertx";
+
     @Inject
     BitcoinRpcConfig config;
 
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "quarkus.rest-client.read-timeout", defaultValue = "30000")
+    long readTimeoutMs;
+
+    @ConfigProperty(name = "quarkus.rest-client.connection-pool-size", defaultValue = "50")
+    int connectionPoolSize;
+
+    @ConfigProperty(name = "quarkus.tls.trust-all", defaultValue = "false")
+    boolean trustAll;
+
     /**
-     * Creates and configures the RpcClient REST client using typesafe configuration.
-     * This method leverages the RestClientBuilder to construct the client with a base URI
-     * and registers a BasicAuthentication filter for handling RPC credentials securely.
+     * Creates and configures the RpcClient of the default node using typesafe configuration.
      *
      * @return A configured RpcClient instance.
      * @throws URISyntaxException if the configured RPC URL is invalid.
@@ -29,10 +51,28 @@ public class RpcClientProducer {
     @Produces
     @ApplicationScoped
     public RpcClient createRpcClient() throws URISyntaxException {
-        URI baseUri = new URI(String.format("%s://%s:%d", config.scheme(), config.host(), config.port()));
+        return createRpcClient(config);
+    }
+
+    /**
+     * Creates and configures an RpcClient for the given node.
+     * For the REST transport, this method leverages the RestClientBuilder to construct the client with a base URI
+     * and registers a BasicAuthentication filter for handling RPC credentials securely.
+     * The Vert.x transport reuses the REST client's timeout and pool size settings.
+     *
+     * @param node the connection settings of the node
+     * @return A configured RpcClient instance.
+     * @throws URISyntaxException if the configured RPC URL is invalid.
+     */
+    public RpcClient createRpcClient(RpcNodeConfig node) throws URISyntaxException {
+        if (VERTX_TRANSPORT.equals(node.transport())) {
+            return new VertxRpcClient(vertx, objectMapper, node, readTimeoutMs, connectionPoolSize, trustAll);
+        }
+
+        URI baseUri = new URI(String.format("%s://%s:%d", node.scheme(), node.host(), node.port()));
 
         // Use our own BasicAuthentication class
-        BasicAuthentication authFilter = new BasicAuthentication(config.user(), config.password());
+        BasicAuthentication authFilter = new BasicAuthentication(node.user(), node.password());
 
         return RestClientBuilder.newBuilder()
                 .baseUri(baseUri)
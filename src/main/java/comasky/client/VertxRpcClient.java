@@ -0,0 +1,114 @@
+package comasky.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.config.RpcNodeConfig;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.ext.web.client.HttpResponse;
+import io.vertx.mutiny.ext.web.client.WebClient;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking {@link AsyncRpcClient} built on the Vert.x web client.
+ * <p>
+ * Requests are written and responses read on the Vert.x event loop, so a slow node never holds a worker thread.
+ * The blocking methods are kept for completeness and simply encode the request and await the asynchronous call.
+ */
+public class VertxRpcClient implements AsyncRpcClient {
+
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String ROOT_PATH = "/";
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_UNAUTHORIZED = 401;
+    private static final int HTTP_FORBIDDEN = 403;
+    private static final int HTTP_UNAVAILABLE = 503;
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final String authorization;
+    private final long timeoutMs;
+
+    /**
+     * Creates a Vert.x RPC client.
+     *
+     * @param vertx        the managed Vert.x instance
+     * @param objectMapper the mapper used to encode requests passed to the blocking methods
+     * @param config       the RPC connection settings
+     * @param timeoutMs    the request timeout in milliseconds
+     * @param poolSize     the maximum number of pooled connections
+     * @param trustAll     whether to trust all TLS certificates (for https nodes with self-signed certificates)
+     */
+    public VertxRpcClient(Vertx vertx, ObjectMapper objectMapper, RpcNodeConfig config,
+                          long timeoutMs, int poolSize, boolean trustAll) {
+        boolean ssl = "https".equals(config.scheme());
+        WebClientOptions options = new WebClientOptions()
+                .setDefaultHost(config.host())
+                .setDefaultPort(config.port())
+                .setSsl(ssl)
+                .setTrustAll(ssl && trustAll)
+                .setVerifyHost(!(ssl && trustAll))
+                .setKeepAlive(true)
+                .setMaxPoolSize(poolSize);
+        this.webClient = WebClient.create(vertx, options);
+        this.objectMapper = objectMapper;
+        this.authorization = BasicAuthentication.headerValue(config.user(), config.password());
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Uni<Buffer> executeEncodedRpcCallAsync(Buffer body) {
+        return webClient.post(ROOT_PATH)
+                .putHeader(HttpHeaders.AUTHORIZATION.toString(), authorization)
+                .putHeader(HttpHeaders.CONTENT_TYPE.toString(), APPLICATION_JSON)
+                .timeout(timeoutMs)
+                .sendBuffer(io.vertx.mutiny.core.buffer.Buffer.newInstance(body))
+                .onItem().transform(this::toBody);
+    }
+
+    @Override
+    public byte[] executeRpcCall(RpcRequestDto rpcRequest) {
+        return await(rpcRequest);
+    }
+
+    @Override
+    public byte[] executeEncodedRpcCall(byte[] body) {
+        return await(Buffer.buffer(body));
+    }
+
+    private byte[] await(Object payload) {
+        final Buffer body;
+        try {
+            body = Buffer.buffer(objectMapper.writeValueAsBytes(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot encode RPC request", e);
+        }
+        return await(body);
+    }
+
+    private byte[] await(Buffer body) {
+        return executeEncodedRpcCallAsync(body).await().atMost(Duration.ofMillis(timeoutMs)).getBytes();
+    }
+
+    /**
+     * Extracts the response body, failing like the REST client does for transport-level HTTP errors.
+     * Bitcoin Core reports RPC errors with a JSON body (and HTTP 404/500), which is passed through so the
+     * caller can surface the node's error message.
+     */
+    private Buffer toBody(HttpResponse<io.vertx.mutiny.core.buffer.Buffer> response) {
+        int status = response.statusCode();
+        io.vertx.mutiny.core.buffer.Buffer body = response.body();
+        boolean hasBody = body != null && body.length() > 0;
+        if (status == HTTP_UNAUTHORIZED || status == HTTP_FORBIDDEN || status == HTTP_UNAVAILABLE
+                || (status >= HTTP_BAD_REQUEST && !hasBody)) {
+            String detail = hasBody ? body.toString().trim() : response.statusMessage();
+            throw new WebApplicationException("HTTP " + status + ": " + detail, status);
+        }
+        return hasBody ? body.getDelegate() : Buffer.buffer();
+    }
+}
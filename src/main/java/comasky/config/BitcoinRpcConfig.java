@@ -1,45 +1,21 @@
 package comasky.config;
 
 import io.smallrye.config.ConfigMapping;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
-import org.hibernate.validator.constraints.Range;
+
+import java.util.Map;
 
 /**
  * Configuration properties for the Bitcoin Core RPC connection.
  * The properties are prefixed with "bitcoin.rpc" in application.properties.
+ * <p>
+ * The top-level properties describe the default node. Additional nodes monitored by the same instance are
+ * declared under {@code bitcoin.rpc.nodes.<name>.*}, e.g. {@code bitcoin.rpc.nodes.signet.host}.
  */
 @ConfigMapping(prefix = "bitcoin.rpc")
-public interface BitcoinRpcConfig {
-
-    /**
-     * The scheme for the RPC connection (http or https).
-     */
-    @NotBlank
-    @Pattern(regexp = "http|https", message = "must be 'http' or 'https'")
-    String scheme();
-
-    /**
-     * The hostname or IP address of the Bitcoin Core RPC server.
-     */
-    @NotBlank
-    String host();
-
-    /**
-     * The port of the Bitcoin Core RPC server.
-     */
-    @Range(min = 1, max = 65535)
-    int port();
-
-    /**
-     * The username for RPC authentication.
-     */
-    @NotBlank
-    String user();
+public interface BitcoinRpcConfig extends RpcNodeConfig {
 
     /**
-     * The password for RPC authentication.
+     * Additional nodes, keyed by the name used in {@code /ws/dashboard/{node}}.
      */
-    @NotBlank
-    String password();
+    Map<String, RpcNodeConfig> nodes();
 }
@@ -6,6 +6,8 @@ import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 import jakarta.validation.constraints.Min;
 
+import java.util.Optional;
+
 /**
  * Configuration properties for the dashboard's behavior.
  * The properties are prefixed with "dashboard" in application.properties.
@@ -18,12 +20,33 @@ public interface DashboardConfig {
     MempoolConfig mempool();
     SessionsConfig sessions();
     CacheConfig cache();
+    RpcConfig rpc();
+    RefreshConfig refresh();
+    BlocksConfig blocks();
+    ZmqConfig zmq();
 
     interface PollingConfig {
         @WithName("interval.seconds")
         @WithDefault("5")
         @Min(1)
         int seconds();
+
+        /**
+         * Seconds after which an unchanged snapshot is delivered again as a heartbeat, or a snapshot whose only
+         * changes are the uptime and the peer byte counters is broadcast; 0 never does.
+         */
+        @WithName("heartbeat.seconds")
+        @WithDefault("30")
+        @Min(0)
+        int heartbeatSeconds();
+
+        /**
+         * Publish each section of the dashboard as soon as its own RPC call completes, merged into the last
+         * snapshot, instead of waiting for all the calls.
+         */
+        @WithName("progressive")
+        @WithDefault("false")
+        boolean progressive();
     }
 
     interface PeersConfig {
@@ -44,6 +67,14 @@ public interface DashboardConfig {
         @WithDefault("1000")
         @Min(1)
         int max();
+
+        /**
+         * Time a frame may stay in flight to a client before the session is closed as stuck.
+         */
+        @WithName("send.timeout.ms")
+        @WithDefault("30000")
+        @Min(1)
+        long sendTimeoutMs();
     }
 
     interface CacheConfig {
@@ -56,5 +87,178 @@ public interface DashboardConfig {
         @WithDefault("1") // Default to 1 for minimal memory usage
         @Min(1)
         int maxItems();
+
+        /**
+         * Serve the cached data while it is reloaded in the background once its validity has elapsed
+         * (stale-while-revalidate), instead of making the next caller wait for the node.
+         */
+        @WithName("refresh.ahead")
+        @WithDefault("false")
+        boolean refreshAhead();
+
+        /**
+         * In refresh-ahead mode, age after which cached data is no longer served and callers wait for fresh data,
+         * e.g. while the node does not answer.
+         */
+        @WithName("max.staleness.ms")
+        @WithDefault("60000")
+        @Min(0)
+        long maxStalenessMs();
+    }
+
+    interface RpcConfig {
+        @WithName("batch")
+        @WithDefault("false")
+        boolean batch();
+
+        @WithName("limiter")
+        LimiterConfig limiter();
+
+        @WithName("deadline")
+        DeadlineConfig deadline();
+
+        /**
+         * Send the same call again when it is still pending after the 95th percentile of its recent latencies;
+         * the first reply wins.
+         */
+        @WithName("hedge")
+        @WithDefault("false")
+        boolean hedge();
+
+        /**
+         * Run blocking RPC calls on virtual threads, scoped to their section load, instead of the worker pool.
+         */
+        @WithName("virtual.threads")
+        @WithDefault("false")
+        boolean virtualThreads();
+    }
+
+    /**
+     * Time each call of a refresh may take before its section is served from its last result, and flagged in the
+     * errors, instead of holding back the snapshot; the budget bounds the whole refresh, retries included.
+     * 0, the default, waits for the reply (up to the HTTP read timeout).
+     */
+    interface DeadlineConfig {
+        @WithName("peers.ms")
+        @WithDefault("0")
+        @Min(0)
+        long peersMs();
+
+        @WithName("blockchain.ms")
+        @WithDefault("0")
+        @Min(0)
+        long blockchainMs();
+
+        @WithName("network.ms")
+        @WithDefault("0")
+        @Min(0)
+        long networkMs();
+
+        @WithName("uptime.ms")
+        @WithDefault("0")
+        @Min(0)
+        long uptimeMs();
+
+        @WithName("block.ms")
+        @WithDefault("0")
+        @Min(0)
+        long blockMs();
+
+        @WithName("mempool.ms")
+        @WithDefault("0")
+        @Min(0)
+        long mempoolMs();
+
+        @WithName("budget.ms")
+        @WithDefault("0")
+        @Min(0)
+        long budgetMs();
+    }
+
+    /**
+     * Adaptive limit on the number of RPC calls in flight to a node (additive increase, multiplicative decrease).
+     * The limit grows while calls succeed within the latency threshold and is halved when the node is overloaded
+     * (HTTP 503 "Work queue depth exceeded", timeouts or slow replies). Calls beyond the limit wait in a queue;
+     * calls beyond the queue are rejected.
+     */
+    interface LimiterConfig {
+        @WithName("enabled")
+        @WithDefault("true")
+        boolean enabled();
+
+        @WithName("initial")
+        @WithDefault("4")
+        @Min(1)
+        int initialLimit();
+
+        @WithName("max")
+        @WithDefault("16")
+        @Min(1)
+        int maxLimit();
+
+        @WithName("queue.size")
+        @WithDefault("64")
+        @Min(0)
+        int queueSize();
+
+        @WithName("latency.threshold.ms")
+        @WithDefault("2000")
+        @Min(1)
+        long latencyThresholdMs();
+    }
+
+    /**
+     * Minimum number of seconds between two fetches of each RPC call.
+     * 0 refetches on every refresh cycle (i.e. every polling interval).
+     */
+    interface RefreshConfig {
+        @WithName("peers.seconds")
+        @WithDefault("0")
+        @Min(0)
+        int peersSeconds();
+
+        @WithName("blockchain.seconds")
+        @WithDefault("0")
+        @Min(0)
+        int blockchainSeconds();
+
+        @WithName("network.seconds")
+        @WithDefault("0")
+        @Min(0)
+        int networkSeconds();
+
+        @WithName("uptime.seconds")
+        @WithDefault("0")
+        @Min(0)
+        int uptimeSeconds();
+
+        @WithName("mempool.seconds")
+        @WithDefault("0")
+        @Min(0)
+        int mempoolSeconds();
+    }
+
+    interface BlocksConfig {
+        @WithName("index.size")
+        @WithDefault("10")
+        @Min(2)
+        int indexSize();
+    }
+
+    /**
+     * bitcoind ZMQ publishers, e.g. tcp://127.0.0.1:28332 (see -zmqpubhashblock and -zmqpubsequence).
+     * Notifications are disabled when no endpoint is set.
+     */
+    interface ZmqConfig {
+        @WithName("hashblock.endpoint")
+        Optional<String> hashblockEndpoint();
+
+        @WithName("sequence.endpoint")
+        Optional<String> sequenceEndpoint();
+
+        @WithName("rate.window.seconds")
+        @WithDefault("60")
+        @Min(1)
+        int rateWindowSeconds();
     }
 }
@@ -0,0 +1,53 @@
+package comasky.config;
+
+import io.smallrye.config.WithDefault;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.hibernate.validator.constraints.Range;
+
+/**
+ * Connection settings of one Bitcoin Core node.
+ * Used for the default node ({@link BitcoinRpcConfig}) and for each additional node of {@link BitcoinRpcConfig#nodes()}.
+ */
+public interface RpcNodeConfig {
+
+    /**
+     * The scheme for the RPC connection (http or https).
+     */
+    @NotBlank
+    @WithDefault("http")
+    @Pattern(regexp = "http|https", message = "must be 'http' or 'https'")
+    String scheme();
+
+    /**
+     * The hostname or IP address of the Bitcoin Core RPC server.
+     */
+    @NotBlank
+    String host();
+
+    /**
+     * The port of the Bitcoin Core RPC server.
+     */
+    @Range(min = 1, max = 65535)
+    int port();
+
+    /**
+     * The username for RPC authentication.
+     */
+    @NotBlank
+    String user();
+
+    /**
+     * The password for RPC authentication.
+     */
+    @NotBlank
+    String password();
+
+    /**
+     * The transport used for RPC calls: "rest" (blocking REST client on the worker pool)
+     * or "vertx" (non-blocking Vert.x web client on the event loop).
+     */
+    @WithDefault("rest")
+    @Pattern(regexp = "rest|vertx", message = "must be 'rest' or 'vertx'")
+    String transport();
+}
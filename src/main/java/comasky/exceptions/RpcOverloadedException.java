@@ -0,0 +1,15 @@
+package comasky.exceptions;
+
+/**
+ * Exception for RPC calls rejected locally because the node is already handling as many calls as it can take.
+ * Such calls are not retried, since retrying would only add to the overload.
+ */
+public class RpcOverloadedException extends RpcException {
+    /**
+     * Constructs a new RpcOverloadedException with the specified detail message.
+     * @param message the detail message
+     */
+    public RpcOverloadedException(String message) {
+        super(message);
+    }
+}
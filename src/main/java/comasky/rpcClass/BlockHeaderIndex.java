@@ -0,0 +1,128 @@
+package comasky.rpcClass;
+
+import comasky.rpcClass.responses.BlockHeaderResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of the most recent block headers, keyed by height and by hash.
+ * <p>
+ * The index always holds a contiguous chain ending at the tip: a new tip replaces any header at or above its
+ * height (reorg), and drops the older headers when it does not connect to them (e.g. several blocks arrived
+ * between two refreshes). The missing ancestors are then filled back one by one through
+ * {@link #nextAncestorHash()} and {@link #addAncestor(BlockHeaderResponse)}.
+ */
+final class BlockHeaderIndex {
+
+    private final int capacity;
+    private final NavigableMap<Integer, BlockHeaderResponse> byHeight = new TreeMap<>();
+    private final Map<String, BlockHeaderResponse> byHash = new HashMap<>();
+
+    /**
+     * @param capacity the maximum number of headers kept
+     */
+    BlockHeaderIndex(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the indexed header with the given hash, or null
+     */
+    synchronized BlockHeaderResponse get(String hash) {
+        return byHash.get(hash);
+    }
+
+    /**
+     * @return the header of the current tip, or null while the index is empty
+     */
+    synchronized BlockHeaderResponse tip() {
+        return byHeight.isEmpty() ? null : byHeight.lastEntry().getValue();
+    }
+
+    /**
+     * Adds the header of the current tip.
+     */
+    synchronized void addTip(BlockHeaderResponse header) {
+        if (byHash.containsKey(header.hash())) {
+            // Known block back at the tip (e.g. invalidateblock): forget the blocks above it
+            removeAll(byHeight.tailMap(header.height(), false));
+            return;
+        }
+        removeAll(byHeight.tailMap(header.height(), true));
+        BlockHeaderResponse parent = byHeight.get(header.height() - 1);
+        if (parent == null || !parent.hash().equals(header.previousblockhash())) {
+            removeAll(byHeight);
+        }
+        put(header);
+        while (byHeight.size() > capacity) {
+            byHash.remove(byHeight.pollFirstEntry().getValue().hash());
+        }
+    }
+
+    /**
+     * Returns the hash of the parent of the oldest indexed header while the index is not full.
+     *
+     * @return the hash of the next header to fill back, or null if there is none
+     */
+    synchronized String nextAncestorHash() {
+        if (byHeight.isEmpty() || byHeight.size() >= capacity) {
+            return null;
+        }
+        return byHeight.firstEntry().getValue().previousblockhash();
+    }
+
+    /**
+     * Adds the parent of the oldest indexed header.
+     *
+     * @return false if the header is not that parent (the chain changed meanwhile) or the index is full
+     */
+    synchronized boolean addAncestor(BlockHeaderResponse header) {
+        if (byHeight.isEmpty() || byHeight.size() >= capacity) {
+            return false;
+        }
+        BlockHeaderResponse oldest = byHeight.firstEntry().getValue();
+        if (!header.hash().equals(oldest.previousblockhash()) || header.height() != oldest.height() - 1) {
+            return false;
+        }
+        put(header);
+        return true;
+    }
+
+    /**
+     * @return the number of indexed headers
+     */
+    synchronized int size() {
+        return byHeight.size();
+    }
+
+    /**
+     * Average time between consecutive indexed blocks, from their header timestamps.
+     *
+     * @return the average interval in seconds, or null with fewer than two headers
+     */
+    synchronized Double averageIntervalSeconds() {
+        if (byHeight.size() < 2) {
+            return null;
+        }
+        long span = byHeight.lastEntry().getValue().time() - byHeight.firstEntry().getValue().time();
+        return (double) span / (byHeight.size() - 1);
+    }
+
+    synchronized void clear() {
+        byHeight.clear();
+        byHash.clear();
+    }
+
+    private void put(BlockHeaderResponse header) {
+        byHeight.put(header.height(), header);
+        byHash.put(header.hash(), header);
+    }
+
+    private void removeAll(Map<Integer, BlockHeaderResponse> headers) {
+        headers.values().forEach(removed -> byHash.remove(removed.hash()));
+        headers.clear();
+    }
+}
@@ -0,0 +1,179 @@
+package comasky.rpcClass;
+
+import comasky.exceptions.RpcOverloadedException;
+import comasky.rpcClass.dto.RpcLimiterStats;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive limit on the number of RPC calls in flight to one node (additive increase, multiplicative decrease).
+ * <p>
+ * bitcoind serves RPC calls from a bounded work queue ({@code -rpcworkqueue}) and answers HTTP 503
+ * "Work queue depth exceeded" once it is full, which happens sooner when other consumers (Lightning, Electrum
+ * servers...) share the node. The limit grows by one per window of successful calls while it is in use, and is
+ * halved on such a rejection, on a timeout or on a reply slower than the latency threshold. Calls beyond the
+ * limit wait in a bounded queue and are started as slots free up; calls beyond the queue are rejected with an
+ * {@link RpcOverloadedException}.
+ */
+final class ConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.5;
+    private static final int HTTP_UNAVAILABLE = 503;
+    private static final String WORK_QUEUE_EXCEEDED = "Work queue depth exceeded";
+    private static final long NANOS_TO_MILLIS = 1_000_000L;
+
+    private final boolean enabled;
+    private final int maxLimit;
+    private final int queueSize;
+    private final long latencyThresholdNanos;
+    private final LongSupplier nanoClock;
+
+    // Guarded by this
+    private double limit;
+    private int inFlight;
+    private long rejected;
+    private final Deque<Waiter> waiting = new ArrayDeque<>();
+
+    /**
+     * One call waiting for, or holding, a slot.
+     */
+    private static final class Waiter {
+        private UniEmitter<? super Long> emitter;
+        // Guarded by the limiter
+        private boolean holdsSlot;
+    }
+
+    ConcurrencyLimiter(boolean enabled, int initialLimit, int maxLimit, int queueSize, long latencyThresholdMs) {
+        this(enabled, initialLimit, maxLimit, queueSize, latencyThresholdMs, System::nanoTime);
+    }
+
+    ConcurrencyLimiter(boolean enabled, int initialLimit, int maxLimit, int queueSize, long latencyThresholdMs,
+                       LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.clamp(initialLimit, 1, this.maxLimit);
+        this.queueSize = queueSize;
+        this.latencyThresholdNanos = latencyThresholdMs * NANOS_TO_MILLIS;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs a call once a slot is available, and adjusts the limit from its outcome.
+     *
+     * @param call creates the Uni performing the call; it is only invoked once the call is allowed to start
+     */
+    <T> Uni<T> run(Supplier<Uni<T>> call) {
+        if (!enabled) {
+            return Uni.createFrom().deferred(call::get);
+        }
+        return acquire().chain(start -> call.get()
+                .onTermination().invoke((item, failure, cancelled) -> release(start, failure, cancelled)));
+    }
+
+    /**
+     * Emits the start time of the call once it holds a slot.
+     * A call cancelled before that gives its place in the queue, or its slot, back.
+     */
+    private Uni<Long> acquire() {
+        return Uni.createFrom().deferred(() -> {
+            Waiter waiter = new Waiter();
+            return Uni.createFrom().<Long>emitter(emitter -> enqueue(waiter, emitter))
+                    .onCancellation().invoke(() -> cancel(waiter));
+        });
+    }
+
+    private void enqueue(Waiter waiter, UniEmitter<? super Long> emitter) {
+        waiter.emitter = emitter;
+        String rejection = null;
+        synchronized (this) {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                waiter.holdsSlot = true;
+            } else if (waiting.size() < queueSize) {
+                waiting.addLast(waiter);
+                return;
+            } else {
+                rejected++;
+                rejection = "RPC concurrency limit reached (" + currentLimit() + " in flight, "
+                        + waiting.size() + " queued)";
+            }
+        }
+        if (rejection != null) {
+            emitter.fail(new RpcOverloadedException(rejection));
+        } else {
+            emitter.complete(nanoClock.getAsLong());
+        }
+    }
+
+    private void cancel(Waiter waiter) {
+        synchronized (this) {
+            if (waiting.remove(waiter) || !waiter.holdsSlot) {
+                return;
+            }
+            waiter.holdsSlot = false;
+        }
+        release(0L, null, true);
+    }
+
+    private void release(long start, Throwable failure, boolean cancelled) {
+        List<Waiter> granted = new ArrayList<>(1);
+        synchronized (this) {
+            if (!cancelled) {
+                boolean overloaded = failure != null
+                        ? isOverload(failure)
+                        : nanoClock.getAsLong() - start > latencyThresholdNanos;
+                if (overloaded) {
+                    limit = Math.max(1.0, limit * BACKOFF_RATIO);
+                } else if (failure == null && inFlight * 2 >= currentLimit()) {
+                    // Only grow while the limit is actually used
+                    limit = Math.min(maxLimit, limit + 1.0 / limit);
+                }
+            }
+            inFlight--;
+            while (inFlight < currentLimit() && !waiting.isEmpty()) {
+                Waiter waiter = waiting.pollFirst();
+                waiter.holdsSlot = true;
+                inFlight++;
+                granted.add(waiter);
+            }
+        }
+        long now = nanoClock.getAsLong();
+        granted.forEach(waiter -> waiter.emitter.complete(now));
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Checks whether a failure means that the node cannot take more calls: a local rejection, an HTTP 503
+     * (bitcoind's "Work queue depth exceeded") or a timeout, anywhere in the cause chain.
+     */
+    static boolean isOverload(Throwable failure) {
+        for (Throwable e = failure; e != null; e = e.getCause()) {
+            if (e instanceof RpcOverloadedException
+                    || e.getClass().getSimpleName().contains("Timeout")
+                    || (e instanceof WebApplicationException wae && wae.getResponse() != null
+                        && wae.getResponse().getStatus() == HTTP_UNAVAILABLE)
+                    || (e.getMessage() != null && e.getMessage().contains(WORK_QUEUE_EXCEEDED))) {
+                return true;
+            }
+            if (e.getCause() == e) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    synchronized RpcLimiterStats stats() {
+        return new RpcLimiterStats(enabled, currentLimit(), inFlight, waiting.size(), rejected);
+    }
+}
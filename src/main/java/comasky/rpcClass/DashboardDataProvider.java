@@ -1,8 +1,12 @@
 package comasky.rpcClass;
 
 import comasky.rpcClass.dto.GlobalResponse;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 
+import java.util.Set;
+import java.util.function.Supplier;
+
 /**
  * Abstraction for providing dashboard data.
  * Implementations may fetch data from RPC, mocks, or caches.
@@ -13,4 +17,24 @@ public interface DashboardDataProvider {
      * @return a Uni emitting the GlobalResponse
      */
     Uni<GlobalResponse> getData();
+
+    /**
+     * Retrieves the dashboard data of some topics only; the fields of the other topics may be left empty.
+     * @param topics the topics to fetch
+     * @return a Uni emitting the GlobalResponse
+     */
+    default Uni<GlobalResponse> getData(Set<DashboardTopic> topics) {
+        return getData();
+    }
+
+    /**
+     * Hot stream of the snapshots of the node, each emitted once as soon as it is fetched; subscribers only get the
+     * snapshots fetched after they subscribed. While subscribed, the node is polled for the topics returned by
+     * {@code topics} (merged with those of the other subscribers).
+     * @param topics the topics the subscriber currently needs
+     * @return a Multi emitting the snapshots
+     */
+    default Multi<DashboardSnapshot> snapshots(Supplier<Set<DashboardTopic>> topics) {
+        return Multi.createFrom().empty();
+    }
 }
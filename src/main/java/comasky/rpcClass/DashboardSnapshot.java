@@ -0,0 +1,21 @@
+package comasky.rpcClass;
+
+import comasky.rpcClass.dto.GlobalResponse;
+
+import java.util.Set;
+
+/**
+ * A snapshot published by a {@link DashboardDataProvider}: the dashboard data and the topics it was fetched for,
+ * the fields of the other topics being left empty.
+ *
+ * @param data        the dashboard data
+ * @param topics      the topics fetched
+ * @param progressive whether it is an intermediate snapshot of a progressive fetch, in which only some sections
+ *                    are up to date; the complete snapshot follows once every call has completed
+ */
+public record DashboardSnapshot(GlobalResponse data, Set<DashboardTopic> topics, boolean progressive) {
+
+    public DashboardSnapshot(GlobalResponse data, Set<DashboardTopic> topics) {
+        this(data, topics, false);
+    }
+}
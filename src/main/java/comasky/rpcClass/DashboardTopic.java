@@ -0,0 +1,60 @@
+package comasky.rpcClass;
+
+import comasky.rpcClass.dto.GlobalResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The parts of the dashboard a client can subscribe to, each made of one or more {@link GlobalResponse} fields.
+ * Only the RPC calls behind the subscribed topics are made.
+ */
+public enum DashboardTopic {
+    PEERS("peers", "generalStats", "inboundPeer", "outboundPeer"),
+    SUBVER("subver", "subverDistribution"),
+    BLOCKCHAIN("blockchain", "blockchainInfoResponse"),
+    BLOCK("block", "block"),
+    MEMPOOL("mempool", "mempoolInfo"),
+    NETWORK("network", "nodeInfo"),
+    UPTIME("uptime", "upTime");
+
+    /**
+     * All topics: the whole dashboard.
+     */
+    public static final Set<DashboardTopic> ALL = Collections.unmodifiableSet(EnumSet.allOf(DashboardTopic.class));
+
+    /**
+     * The {@link GlobalResponse} field sent whatever the topics.
+     */
+    public static final String ERRORS_FIELD = "errors";
+
+    private final String id;
+    private final List<String> fields;
+
+    DashboardTopic(String id, String... fields) {
+        this.id = id;
+        this.fields = List.of(fields);
+    }
+
+    /**
+     * @return the name of the topic in subscribe messages
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * @return the names of the {@link GlobalResponse} JSON fields of the topic
+     */
+    public List<String> fields() {
+        return fields;
+    }
+
+    public static Optional<DashboardTopic> fromId(String id) {
+        return Arrays.stream(values()).filter(topic -> topic.id.equals(id)).findFirst();
+    }
+}
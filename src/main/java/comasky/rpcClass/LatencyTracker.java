@@ -0,0 +1,43 @@
+package comasky.rpcClass;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the most recent calls of one RPC method, kept in a ring buffer.
+ * <p>
+ * Used to tell when a call is late compared to its usual replies, e.g. to send a hedged request once it has been
+ * pending for longer than 95% of the recent calls.
+ */
+final class LatencyTracker {
+
+    static final int CAPACITY = 64;
+    static final int MIN_SAMPLES = 16;
+
+    // Guarded by this
+    private final long[] samples = new long[CAPACITY];
+    private int count;
+    private int next;
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % CAPACITY;
+        if (count < CAPACITY) {
+            count++;
+        }
+    }
+
+    /**
+     * @param percent the percentile, between 1 and 100
+     * @return the latency in nanoseconds below which the given percentage of the recent calls replied, or -1 while
+     * fewer than {@link #MIN_SAMPLES} calls were recorded
+     */
+    synchronized long percentile(int percent) {
+        if (count < MIN_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percent / 100.0 * count) - 1;
+        return sorted[Math.clamp(index, 0, count - 1)];
+    }
+}
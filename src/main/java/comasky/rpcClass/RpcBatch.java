@@ -0,0 +1,55 @@
+package comasky.rpcClass;
+
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import comasky.exceptions.RpcException;
+import io.smallrye.mutiny.Uni;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Collects the RPC calls of one refresh cycle and sends them as a single JSON-RPC batch.
+ * <p>
+ * Each call registered through {@link #add(RpcMethod)} gets its own {@link Uni}, completed with the
+ * matching element of the batch reply (routed by request id). The batch itself is sent once, when the
+ * first of those Unis is subscribed, so every call must be registered before subscription.
+ * Only a reply is kept: after a transport failure, the next subscription (e.g. a retry) sends the batch again.
+ */
+final class RpcBatch {
+
+    private final List<RpcMethod<?>> methods = new ArrayList<>();
+    private final Uni<Map<String, RpcResponse<TokenBuffer>>> replies;
+    private volatile boolean failed;
+
+    /**
+     * @param sender sends the requests of the collected methods and returns the reply elements keyed by request id
+     */
+    RpcBatch(Function<List<RpcMethod<?>>, Uni<Map<String, RpcResponse<TokenBuffer>>>> sender) {
+        this.replies = Uni.createFrom().deferred(() -> {
+                    failed = false;
+                    return sender.apply(List.copyOf(methods));
+                })
+                .onFailure().invoke(() -> failed = true)
+                .memoize().until(() -> failed);
+    }
+
+    /**
+     * Registers a parameterless call in the batch.
+     *
+     * @param method the method to call; it must appear only once within the batch
+     * @return a Uni emitting the reply element for this call, with its result still unbound
+     */
+    Uni<RpcResponse<TokenBuffer>> add(RpcMethod<?> method) {
+        methods.add(method);
+        final String id = method.request().id();
+        return replies.onItem().transform(byId -> {
+            RpcResponse<TokenBuffer> reply = byId.get(id);
+            if (reply == null) {
+                throw new RpcException("No reply for method " + method.name() + " in RPC batch");
+            }
+            return reply;
+        });
+    }
+}
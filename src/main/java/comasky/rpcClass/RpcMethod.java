@@ -0,0 +1,95 @@
+package comasky.rpcClass;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.RpcRequestDto;
+
+import java.util.List;
+
+/**
+ * Descriptor of a Bitcoin Core RPC method, built once at startup.
+ * <p>
+ * It holds everything about a call that does not change between refresh cycles: the resolved Jackson types of
+ * the result and of the {@link RpcResponse} envelope, and for calls without parameters the request itself
+ * together with its JSON encoding. It also tracks the latency of the recent calls.
+ *
+ * @param <T> the type of the RPC result
+ */
+public final class RpcMethod<T> {
+
+    private static final String JSON_RPC_VERSION = "1.0";
+    private static final String REQUEST_ID_PREFIX = "quarkus-";
+    private static final List<Object> NO_PARAMS = List.of();
+
+    private final String name;
+    private final JavaType resultType;
+    private final JavaType responseType;
+    private final RpcRequestDto request;
+    private final byte[] encodedRequest;
+    private final LatencyTracker latency = new LatencyTracker();
+
+    private RpcMethod(ObjectMapper objectMapper, String name, JavaType resultType) {
+        this.name = name;
+        this.resultType = resultType;
+        this.responseType = objectMapper.getTypeFactory().constructParametricType(RpcResponse.class, resultType);
+        this.request = new RpcRequestDto(JSON_RPC_VERSION, REQUEST_ID_PREFIX + name, name, NO_PARAMS);
+        try {
+            this.encodedRequest = objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode RPC request for method " + name, e);
+        }
+    }
+
+    public static <T> RpcMethod<T> of(ObjectMapper objectMapper, String name, Class<T> resultType) {
+        return new RpcMethod<>(objectMapper, name, objectMapper.getTypeFactory().constructType(resultType));
+    }
+
+    public static <T> RpcMethod<T> of(ObjectMapper objectMapper, String name, TypeReference<T> resultType) {
+        return new RpcMethod<>(objectMapper, name, objectMapper.getTypeFactory().constructType(resultType));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public JavaType resultType() {
+        return resultType;
+    }
+
+    /**
+     * @return the type of the full response envelope, {@code RpcResponse<T>}
+     */
+    public JavaType responseType() {
+        return responseType;
+    }
+
+    /**
+     * @return the shared request for a call without parameters
+     */
+    public RpcRequestDto request() {
+        return request;
+    }
+
+    /**
+     * Returns the request for a call with the given parameters; the shared instance is reused when there are none.
+     */
+    public RpcRequestDto request(List<Object> params) {
+        if (params.isEmpty()) {
+            return request;
+        }
+        return new RpcRequestDto(JSON_RPC_VERSION, request.id(), name, params);
+    }
+
+    /**
+     * @return the JSON encoding of {@link #request()}; callers must not modify the array
+     */
+    public byte[] encodedRequest() {
+        return encodedRequest;
+    }
+
+    LatencyTracker latency() {
+        return latency;
+    }
+}
@@ -0,0 +1,104 @@
+package comasky.rpcClass;
+
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * The virtual threads running blocking RPC calls, e.g. those of one section load.
+ * <p>
+ * Each call gets its own virtual thread, so a call waiting on the node holds no platform thread, whatever the
+ * number of nodes or of concurrent REST calls. A call is interrupted as soon as its subscriber cancels it (e.g. the
+ * losing request of a hedge) and when the scope is closed, so no call outlives the scope it was started in.
+ * <p>
+ * Callers waiting on the calls of a scope keep it open, each until its own deadline (see {@link #keepOpenUntil}) or
+ * for as long as it takes (see {@link #keepOpen}): the scope closes itself once the last deadline has passed, unless
+ * a caller without deadline waits on it.
+ */
+final class RpcScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+
+    // Guarded by this
+    private boolean keptOpen;
+    private boolean hasDeadline;
+    private long closeAtNanos;
+
+    RpcScope(String name) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    /**
+     * @return a Uni running the blocking call on a virtual thread of this scope when subscribed
+     */
+    <T> Uni<T> run(Supplier<T> blockingCall) {
+        return Uni.createFrom().emitter(emitter -> {
+            final Future<?> task;
+            try {
+                task = executor.submit(() -> {
+                    try {
+                        emitter.complete(blockingCall.get());
+                    } catch (Throwable e) {
+                        emitter.fail(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                emitter.fail(new CancellationException("RPC scope closed"));
+                return;
+            }
+            emitter.onTermination(() -> task.cancel(true));
+        });
+    }
+
+    /**
+     * Keeps the scope open for a caller waiting until the given deadline, a {@link System#nanoTime()} value.
+     */
+    synchronized void keepOpenUntil(long deadlineNanos) {
+        if (keptOpen || (hasDeadline && deadlineNanos - closeAtNanos <= 0)) {
+            return;
+        }
+        hasDeadline = true;
+        closeAtNanos = deadlineNanos;
+        closeAt(deadlineNanos);
+    }
+
+    /**
+     * Keeps the scope open for a caller waiting without deadline, until {@link #close()}.
+     */
+    synchronized void keepOpen() {
+        keptOpen = true;
+    }
+
+    private void closeAt(long deadlineNanos) {
+        Uni.createFrom().voidItem()
+                .onItem().delayIt().by(Duration.ofNanos(Math.max(deadlineNanos - System.nanoTime(), 0)))
+                .subscribe().with(_ -> closeIfExpired(deadlineNanos));
+    }
+
+    private synchronized void closeIfExpired(long deadlineNanos) {
+        if (keptOpen || deadlineNanos != closeAtNanos) {
+            // Kept open by a later caller, whose own deadline closes the scope
+            return;
+        }
+        if (System.nanoTime() - deadlineNanos < 0) {
+            // The delay is scheduled in milliseconds, so it may elapse just before the deadline
+            closeAt(deadlineNanos);
+            return;
+        }
+        close();
+    }
+
+    /**
+     * Interrupts the calls still running and rejects new ones.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
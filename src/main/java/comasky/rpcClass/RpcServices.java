@@ -1,37 +1,77 @@
 package comasky.rpcClass;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import comasky.client.AsyncRpcClient;
 import comasky.client.RpcClient;
 import comasky.client.RpcRequestDto;
 import comasky.config.DashboardConfig;
 import comasky.exceptions.RpcException;
 import comasky.rpcClass.dto.GeneralStats;
 import comasky.rpcClass.dto.GlobalResponse;
+import comasky.rpcClass.dto.RpcLimiterStats;
 import comasky.rpcClass.dto.SubverDistribution;
 import comasky.rpcClass.dto.SubverStats;
 import comasky.rpcClass.responses.*;
 import comasky.rpcClass.view.*;
 import comasky.service.CacheProvider;
+import comasky.service.CacheSection;
+import comasky.service.MempoolActivity;
+import comasky.service.NewBlockEvent;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
 import io.smallrye.mutiny.tuples.Tuple6;
+import io.vertx.core.buffer.Buffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
 import org.jboss.logging.Logger;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
  * Service for executing RPC calls to the Bitcoin Core node using a reactive approach with Mutiny.
  * <p>
  * This service orchestrates multiple RPC calls in parallel to optimize response time for dashboard data retrieval.
+ * When {@code dashboard.rpc.batch} is enabled, the independent calls of a refresh cycle are sent as a single
+ * JSON-RPC batch instead of one HTTP request each.
+ * Responses are bound by Jackson straight from the UTF-8 bytes returned by the client, without an intermediate String.
+ * Each call has its own cache section (see {@link CacheProvider#section(Duration)}) with its own time to live
+ * ({@code dashboard.refresh.*}): results that rarely change, such as getnetworkinfo, are reused across refresh
+ * cycles until their interval elapses, and the REST endpoints share the sections of the dashboard.
+ * The tip block is read with getblockheader (no txid list), only when the best block hash changes, and kept in
+ * an index of recent headers that also provides the average block interval.
+ * Blocking clients run on the worker pool, or on virtual threads scoped to each section load
+ * ({@code dashboard.rpc.virtual.threads}), while non-blocking clients (see {@link AsyncRpcClient})
+ * stay on the event loop.
+ * Calls to the node go through an adaptive concurrency limit ({@code dashboard.rpc.limiter.*}), and calls rejected
+ * because the node is overloaded are not retried.
+ * Every snapshot of the whole dashboard fetched, and every snapshot polled (see {@link #poll()}), is published on
+ * the {@link #snapshots} stream as soon as it lands.
  * It provides methods to fetch node, block, peer, and blockchain information.
  */
 @ApplicationScoped
@@ -42,25 +82,29 @@ public class RpcServices implements DashboardDataProvider {
     private static final String GET_NETWORK_INFO = "getnetworkinfo";
     private static final String GET_BEST_BLOCK_HASH = "getbestblockhash";
     private static final String GET_BLOCK = "getblock";
+    private static final String GET_BLOCK_HEADER = "getblockheader";
     private static final String GET_BLOCKCHAIN_INFO = "getblockchaininfo";
     private static final String UPTIME = "uptime";
     private static final String GET_PEER_INFO = "getpeerinfo";
     private static final String GET_MEMPOOL_INFO = "getmempoolinfo";
 
-    // RPC protocol constants
-    private static final String JSON_RPC_VERSION = "1.0";
-    private static final String REQUEST_ID_PREFIX = "quarkus-";
-
     // Performance tuning
     private static final int PARALLEL_STREAM_THRESHOLD = 100;
     private static final int MAX_RETRY_ATTEMPTS = 2;
     private static final long NANOS_TO_MILLIS = 1_000_000L;
     private static final long RETRY_DELAY_MS = 50L;
-    
-    // Pre-built RPC requests (immutable, can be reused)
-    private static final List<Object> EMPTY_PARAMS = Collections.emptyList();
+    private static final int HEDGE_PERCENTILE = 95;
+    private static final int DEFAULT_BLOCK_INDEX_SIZE = 10;
+    private static final int DEFAULT_LIMITER_INITIAL = 4;
+    private static final int DEFAULT_LIMITER_MAX = 16;
+    private static final int DEFAULT_LIMITER_QUEUE_SIZE = 64;
+    private static final long DEFAULT_LIMITER_LATENCY_THRESHOLD_MS = 2000L;
+    private static final byte BATCH_START = '[';
+    private static final byte BATCH_SEPARATOR = ',';
+    private static final byte BATCH_END = ']';
 
     private static final TypeReference<List<PeerInfoResponse>> PEER_INFO_TYPE_REF = new TypeReference<>() {};
+    private static final TypeReference<List<RpcResponse<TokenBuffer>>> BATCH_REPLY_TYPE_REF = new TypeReference<>() {};
 
     @Inject
     DashboardConfig dashboardConfig;
@@ -68,95 +112,537 @@ public class RpcServices implements DashboardDataProvider {
     @Inject
     CacheProvider cacheProvider;
 
+    @Inject
+    MempoolActivity mempoolActivity;
+
     private final ObjectMapper objectMapper;
     private final RpcClient rpcClient;
+    private final JavaType batchReplyType;
+
+    // Method descriptors, resolved once instead of on every call
+    private final RpcMethod<NetworkInfoResponse> networkInfoMethod;
+    private final RpcMethod<String> bestBlockHashMethod;
+    private final RpcMethod<BlockInfoResponse> blockMethod;
+    private final RpcMethod<BlockHeaderResponse> blockHeaderMethod;
+    private final RpcMethod<BlockchainInfoResponse> blockchainInfoMethod;
+    private final RpcMethod<Long> uptimeMethod;
+    private final RpcMethod<List<PeerInfoResponse>> peerInfoMethod;
+    private final RpcMethod<MempoolInfoResponse> mempoolInfoMethod;
+
+    // Last result of each call, refreshed according to dashboard.refresh.*
+    private CacheSection<List<PeerInfoResponse>> peerInfoSection;
+    private CacheSection<BlockchainInfoResponse> blockchainInfoSection;
+    private CacheSection<NetworkInfoResponse> networkInfoSection;
+    private CacheSection<Long> uptimeSection;
+    private CacheSection<String> bestBlockHashSection;
+    private CacheSection<MempoolInfoResponse> mempoolInfoSection;
+
+    // Recent block headers: the tip header is reused until getbestblockhash returns another hash
+    private BlockHeaderIndex blockHeaderIndex;
+    private final AtomicBoolean headerBackfillRunning = new AtomicBoolean();
+
+    // Adaptive limit on the calls in flight to the node
+    private ConcurrencyLimiter limiter;
+
+    // Virtual threads of the blocking calls made outside a section load, when enabled
+    private RpcScope sharedScope;
+
+    // Scope of the load in progress of each section, kept open by the refreshes joining it
+    private final Map<CacheSection<?>, RpcScope> loadScopes = new ConcurrentHashMap<>();
+
+    // Hot stream of the fetched snapshots, and the topics needed by each of its subscribers
+    private final BroadcastProcessor<DashboardSnapshot> snapshotProcessor = BroadcastProcessor.create();
+    private final Set<Supplier<Set<DashboardTopic>>> snapshotDemands = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this: the base of the progressive snapshots
+    private GlobalResponse lastFullSnapshot;
 
     @Inject
     public RpcServices(ObjectMapper objectMapper, RpcClient rpcClient) {
         this.objectMapper = objectMapper;
         this.rpcClient = rpcClient;
+        this.batchReplyType = objectMapper.getTypeFactory().constructType(BATCH_REPLY_TYPE_REF);
+        this.networkInfoMethod = RpcMethod.of(objectMapper, GET_NETWORK_INFO, NetworkInfoResponse.class);
+        this.bestBlockHashMethod = RpcMethod.of(objectMapper, GET_BEST_BLOCK_HASH, String.class);
+        this.blockMethod = RpcMethod.of(objectMapper, GET_BLOCK, BlockInfoResponse.class);
+        this.blockHeaderMethod = RpcMethod.of(objectMapper, GET_BLOCK_HEADER, BlockHeaderResponse.class);
+        this.blockchainInfoMethod = RpcMethod.of(objectMapper, GET_BLOCKCHAIN_INFO, BlockchainInfoResponse.class);
+        this.uptimeMethod = RpcMethod.of(objectMapper, UPTIME, Long.class);
+        this.peerInfoMethod = RpcMethod.of(objectMapper, GET_PEER_INFO, PEER_INFO_TYPE_REF);
+        this.mempoolInfoMethod = RpcMethod.of(objectMapper, GET_MEMPOOL_INFO, MempoolInfoResponse.class);
+    }
+
+    /**
+     * Creates the services of an additional node, outside of CDI.
+     * Additional nodes have their own client and cache; ZMQ notifications only concern the default
+     * node, so no mempool activity is reported for them.
+     */
+    public static RpcServices forNode(ObjectMapper objectMapper, RpcClient rpcClient,
+                                      DashboardConfig dashboardConfig, CacheProvider cacheProvider) {
+        RpcServices services = new RpcServices(objectMapper, rpcClient);
+        services.dashboardConfig = dashboardConfig;
+        services.cacheProvider = cacheProvider;
+        services.init();
+        return services;
+    }
+
+    @PostConstruct
+    void init() {
+        limiter = createLimiter();
+        sharedScope = isVirtualThreadsEnabled() ? new RpcScope("rpc") : null;
+        blockHeaderIndex = new BlockHeaderIndex(dashboardConfig != null ? dashboardConfig.blocks().indexSize() : DEFAULT_BLOCK_INDEX_SIZE);
+        peerInfoSection = section(DashboardConfig.RefreshConfig::peersSeconds);
+        blockchainInfoSection = section(DashboardConfig.RefreshConfig::blockchainSeconds);
+        networkInfoSection = section(DashboardConfig.RefreshConfig::networkSeconds);
+        uptimeSection = section(DashboardConfig.RefreshConfig::uptimeSeconds);
+        bestBlockHashSection = cacheProvider.section(Duration.ZERO);
+        mempoolInfoSection = section(DashboardConfig.RefreshConfig::mempoolSeconds);
+    }
+
+    /**
+     * Interrupts the blocking calls still running on virtual threads, on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        if (sharedScope != null) {
+            sharedScope.close();
+        }
+        loadScopes.values().forEach(RpcScope::close);
+    }
+
+    /**
+     * Forgets the results kept by the cache sections and the block header index, so the next refresh cycle fetches
+     * every call again.
+     */
+    public void invalidateSections() {
+        peerInfoSection.invalidate();
+        blockchainInfoSection.invalidate();
+        networkInfoSection.invalidate();
+        uptimeSection.invalidate();
+        bestBlockHashSection.invalidate();
+        mempoolInfoSection.invalidate();
+        blockHeaderIndex.clear();
+    }
+
+    /**
+     * A new block changes the tip, the chain state and the mempool: their sections are refreshed on the next cycle.
+     * The tip header is looked up by hash, so it needs no invalidation.
+     */
+    void onNewBlock(@Observes @Priority(Interceptor.Priority.APPLICATION) NewBlockEvent event) {
+        bestBlockHashSection.invalidate();
+        blockchainInfoSection.invalidate();
+        mempoolInfoSection.invalidate();
+    }
+
+    private ConcurrencyLimiter createLimiter() {
+        if (dashboardConfig == null) {
+            return new ConcurrencyLimiter(true, DEFAULT_LIMITER_INITIAL, DEFAULT_LIMITER_MAX,
+                    DEFAULT_LIMITER_QUEUE_SIZE, DEFAULT_LIMITER_LATENCY_THRESHOLD_MS);
+        }
+        DashboardConfig.LimiterConfig config = dashboardConfig.rpc().limiter();
+        return new ConcurrencyLimiter(config.enabled(), config.initialLimit(), config.maxLimit(),
+                config.queueSize(), config.latencyThresholdMs());
+    }
+
+    /**
+     * @return the current state of the concurrency limiter of this node
+     */
+    public RpcLimiterStats getLimiterStats() {
+        return limiter.stats();
+    }
+
+    private <T> CacheSection<T> section(ToIntFunction<DashboardConfig.RefreshConfig> seconds) {
+        int intervalSeconds = dashboardConfig != null ? seconds.applyAsInt(dashboardConfig.refresh()) : 0;
+        return cacheProvider.section(Duration.ofSeconds(intervalSeconds));
     }
 
     @Override
     public Uni<GlobalResponse> getData() {
-        return cacheProvider.getCachedData(this::fetchFreshData);
+        return cacheProvider.getCachedData(this::fetchAndPublish);
     }
 
-    private Uni<GlobalResponse> fetchFreshData() {
-        LOG.debug("Fetching fresh data from RPC...");
-        final Map<String, String> errors = new HashMap<>();
+    private Uni<GlobalResponse> fetchAndPublish() {
+        return fetchFreshData(DashboardTopic.ALL, progressiveSnapshot())
+                .invoke(data -> publish(data, DashboardTopic.ALL));
+    }
 
-        final Uni<List<PeerInfoResponse>> peerInfoUni = addErrorHandling(
-                executePeerInfoRpcCall(), "peerInfo", errors, Collections::emptyList);
+    @Override
+    public Multi<DashboardSnapshot> snapshots(Supplier<Set<DashboardTopic>> topics) {
+        return snapshotProcessor
+                .onSubscription().invoke(() -> snapshotDemands.add(topics))
+                .onTermination().invoke(() -> snapshotDemands.remove(topics));
+    }
 
-        final Uni<BlockchainInfoResponse> blockchainInfoUni = addErrorHandling(
-                getBlockchainInfo(), "blockchainInfo", errors, () -> null);
+    /**
+     * @return whether the {@link #snapshots} stream has subscribers, which the node is polled for
+     */
+    public boolean hasSnapshotSubscribers() {
+        return !snapshotDemands.isEmpty();
+    }
 
-        final Uni<NetworkInfoResponse> nodeInfoUni = addErrorHandling(
-                getNetworkInfo(), "networkInfo", errors, () -> null);
+    /**
+     * Fetches a new snapshot of the topics the subscribers of the {@link #snapshots} stream need, bypassing the
+     * cached data, and publishes it. Does nothing if they need no topic.
+     *
+     * @return a Uni emitting the snapshot, or null if nothing was fetched
+     */
+    public Uni<GlobalResponse> poll() {
+        Set<DashboardTopic> topics = EnumSet.noneOf(DashboardTopic.class);
+        for (Supplier<Set<DashboardTopic>> demand : snapshotDemands) {
+            topics.addAll(demand.get());
+            if (topics.size() == DashboardTopic.ALL.size()) {
+                break;
+            }
+        }
+        if (topics.isEmpty()) {
+            return Uni.createFrom().nullItem();
+        }
+        if (topics.size() == DashboardTopic.ALL.size()) {
+            // The fetched data replaces the cached data of the REST endpoints, which keep being served meanwhile
+            return cacheProvider.refreshCachedData(this::fetchAndPublish);
+        }
+        Set<DashboardTopic> polled = Collections.unmodifiableSet(topics);
+        return fetchFreshData(polled, null).invoke(data -> publish(data, polled));
+    }
 
-        final Uni<Long> uptimeUni = addErrorHandling(
-                getUptimeSeconds(), "uptime", errors, () -> 0L);
+    private synchronized void publish(GlobalResponse data, Set<DashboardTopic> topics) {
+        if (topics.size() == DashboardTopic.ALL.size()) {
+            lastFullSnapshot = data;
+        }
+        snapshotProcessor.onNext(new DashboardSnapshot(data, topics));
+    }
 
-        final Uni<BlockInfoResponse> blockInfoUni = addErrorHandling(getBestBlockHash(), "bestBlockHash", errors, () -> null)
-                .onItem().transformToUni(hash -> {
-                    if (hash == null) {
-                        return Uni.createFrom().nullItem();
-                    }
-                    return addErrorHandling(getBlockInfo(hash), "blockInfo", errors, () -> null);
-                });
+    private synchronized void publishProgress(GlobalResponse data) {
+        snapshotProcessor.onNext(new DashboardSnapshot(data, DashboardTopic.ALL, true));
+    }
+
+    /**
+     * In progressive mode ({@code dashboard.polling.progressive}), starts the merged view of a fetch of the whole
+     * dashboard from the last full snapshot published.
+     *
+     * @return null if the sections are not to be published as they complete
+     */
+    private ProgressiveSnapshot progressiveSnapshot() {
+        GlobalResponse base = lastFullSnapshot;
+        if (base == null || dashboardConfig == null || !dashboardConfig.polling().progressive()) {
+            return null;
+        }
+        return new ProgressiveSnapshot(base);
+    }
+
+    /**
+     * The view published while a progressive fetch runs: the last full snapshot, in which each section is replaced
+     * and published as soon as its own call completes, so that a slow call (e.g. getpeerinfo on a busy node) does
+     * not hold back the others. These intermediate snapshots are marked progressive; the complete response is
+     * published, and cached, once every call has completed.
+     */
+    private final class ProgressiveSnapshot {
+        private GlobalResponse current;
+
+        private ProgressiveSnapshot(GlobalResponse base) {
+            this.current = base;
+        }
+
+        synchronized void update(UnaryOperator<GlobalResponse> section) {
+            current = section.apply(current);
+            publishProgress(current);
+        }
+    }
+
+    /**
+     * The views derived from getpeerinfo, computed once per fetch.
+     */
+    private record PeerViews(GeneralStats generalStats, SubverDistribution subverDistribution,
+                             List<PeerInfoView> inbound, List<PeerInfoView> outbound) {
+    }
+
+    /**
+     * Fetches the data of some topics only. The sections of the other topics are neither loaded nor refreshed,
+     * and their fields are left empty. Asking for all topics returns the cached {@link #getData()}.
+     */
+    @Override
+    public Uni<GlobalResponse> getData(Set<DashboardTopic> topics) {
+        if (topics.containsAll(DashboardTopic.ALL)) {
+            return getData();
+        }
+        return fetchFreshData(topics);
+    }
+
+    private Uni<GlobalResponse> fetchFreshData(Set<DashboardTopic> topics) {
+        return fetchFreshData(topics, null);
+    }
+
+    /**
+     * @param progress the view to update as each section completes, or null to only build the complete response
+     */
+    private Uni<GlobalResponse> fetchFreshData(Set<DashboardTopic> topics, ProgressiveSnapshot progress) {
+        LOG.debugf("Fetching fresh data from RPC for %s...", topics);
+        final Map<String, String> errors = new ConcurrentHashMap<>();
+        final DashboardConfig.DeadlineConfig deadlines = dashboardConfig != null ? dashboardConfig.rpc().deadline() : null;
+        final Refresh refresh = Refresh.start(deadlines != null ? deadlines.budgetMs() : 0);
+        final RpcBatch batch = isBatchEnabled() ? new RpcBatch(this::executeBatch) : null;
+
+        final Uni<PeerViews> peerInfoUni = (
+                topics.contains(DashboardTopic.PEERS) || topics.contains(DashboardTopic.SUBVER)
+                ? addErrorHandling(withDeadline(load(peerInfoSection, batch, peerInfoMethod, refresh), "peerInfo",
+                        deadlines != null ? deadlines.peersMs() : 0, refresh, errors, peerInfoSection::last),
+                        "peerInfo", errors, Collections::emptyList)
+                : Uni.createFrom().item(Collections.<PeerInfoResponse>emptyList()))
+                .onItem().transform(this::toPeerViews);
+
+        final Uni<BlockchainInfoResponse> blockchainInfoUni = topics.contains(DashboardTopic.BLOCKCHAIN)
+                ? addErrorHandling(withDeadline(load(blockchainInfoSection, batch, blockchainInfoMethod, refresh), "blockchainInfo",
+                        deadlines != null ? deadlines.blockchainMs() : 0, refresh, errors, blockchainInfoSection::last),
+                        "blockchainInfo", errors, () -> null)
+                : Uni.createFrom().nullItem();
+
+        final Uni<NetworkInfoResponse> nodeInfoUni = topics.contains(DashboardTopic.NETWORK)
+                ? addErrorHandling(withDeadline(load(networkInfoSection, batch, networkInfoMethod, refresh), "networkInfo",
+                        deadlines != null ? deadlines.networkMs() : 0, refresh, errors, networkInfoSection::last),
+                        "networkInfo", errors, () -> null)
+                : Uni.createFrom().nullItem();
+
+        final Uni<Long> uptimeUni = topics.contains(DashboardTopic.UPTIME)
+                ? addErrorHandling(withDeadline(load(uptimeSection, batch, uptimeMethod, refresh), "uptime",
+                        deadlines != null ? deadlines.uptimeMs() : 0, refresh, errors, uptimeSection::last),
+                        "uptime", errors, () -> 0L)
+                : Uni.createFrom().item(0L);
+
+        final Uni<BlockHeaderResponse> blockInfoUni;
+        if (topics.contains(DashboardTopic.BLOCK)) {
+            final Uni<BlockHeaderResponse> tipHeader = addErrorHandling(
+                    load(bestBlockHashSection, batch, bestBlockHashMethod, refresh), "bestBlockHash", errors, () -> null)
+                    .onItem().transformToUni(hash -> {
+                        if (hash == null) {
+                            return Uni.createFrom().nullItem();
+                        }
+                        return addErrorHandling(scoped(refresh, scope -> withRetry(getTipBlockHeader(hash, scope), refresh)),
+                                "blockInfo", errors, () -> null);
+                    });
+            blockInfoUni = addErrorHandling(withDeadline(tipHeader, "blockInfo",
+                    deadlines != null ? deadlines.blockMs() : 0, refresh, errors, blockHeaderIndex::tip),
+                    "blockInfo", errors, () -> null);
+        } else {
+            blockInfoUni = Uni.createFrom().nullItem();
+        }
 
         final Uni<MempoolInfoResponse> mempoolInfoResponse;
-        if (dashboardConfig != null && dashboardConfig.mempool().disable()) {
+        if ((dashboardConfig != null && dashboardConfig.mempool().disable()) || !topics.contains(DashboardTopic.MEMPOOL)) {
             mempoolInfoResponse = Uni.createFrom().nullItem();
         } else {
-            mempoolInfoResponse = addErrorHandling(getMempoolInfo(), "mempoolInfo", errors, () -> null);
+            mempoolInfoResponse = addErrorHandling(withDeadline(load(mempoolInfoSection, batch, mempoolInfoMethod, refresh), "mempoolInfo",
+                    deadlines != null ? deadlines.mempoolMs() : 0, refresh, errors, mempoolInfoSection::last),
+                    "mempoolInfo", errors, () -> null);
         }
 
-        return Uni.combine().all().unis(peerInfoUni, blockchainInfoUni, nodeInfoUni, uptimeUni, blockInfoUni, mempoolInfoResponse)
-                .asTuple()
-                .onItem().transform(tuple -> buildGlobalResponseFromTuple(tuple, errors));
+        final Uni<GlobalResponse> response;
+        if (progress != null) {
+            response = Uni.combine().all().unis(
+                    peerInfoUni.invoke(peers -> progress.update(data -> new GlobalResponse(peers.generalStats(),
+                            peers.subverDistribution(), peers.inbound(), peers.outbound(),
+                            data.blockchainInfoResponse(), data.nodeInfo(), data.upTime(), data.block(),
+                            data.mempoolInfo(), Map.copyOf(errors)))),
+                    blockchainInfoUni.invoke(info -> progress.update(data -> new GlobalResponse(data.generalStats(),
+                            data.subverDistribution(), data.inboundPeer(), data.outboundPeer(),
+                            BlockchainInfoView.from(info), data.nodeInfo(), data.upTime(), data.block(),
+                            data.mempoolInfo(), Map.copyOf(errors)))),
+                    nodeInfoUni.invoke(info -> progress.update(data -> new GlobalResponse(data.generalStats(),
+                            data.subverDistribution(), data.inboundPeer(), data.outboundPeer(),
+                            data.blockchainInfoResponse(), NetworkInfoView.from(info), data.upTime(), data.block(),
+                            data.mempoolInfo(), Map.copyOf(errors)))),
+                    uptimeUni.invoke(upTime -> progress.update(data -> new GlobalResponse(data.generalStats(),
+                            data.subverDistribution(), data.inboundPeer(), data.outboundPeer(),
+                            data.blockchainInfoResponse(), data.nodeInfo(), upTime, data.block(),
+                            data.mempoolInfo(), Map.copyOf(errors)))),
+                    blockInfoUni.invoke(header -> progress.update(data -> new GlobalResponse(data.generalStats(),
+                            data.subverDistribution(), data.inboundPeer(), data.outboundPeer(),
+                            data.blockchainInfoResponse(), data.nodeInfo(), data.upTime(), toBlockView(header),
+                            data.mempoolInfo(), Map.copyOf(errors)))),
+                    mempoolInfoResponse.invoke(info -> progress.update(data -> new GlobalResponse(data.generalStats(),
+                            data.subverDistribution(), data.inboundPeer(), data.outboundPeer(),
+                            data.blockchainInfoResponse(), data.nodeInfo(), data.upTime(), data.block(),
+                            toMempoolView(info), Map.copyOf(errors)))))
+                    .asTuple()
+                    .onItem().transform(tuple -> buildGlobalResponseFromTuple(tuple, errors));
+        } else {
+            response = Uni.combine().all().unis(peerInfoUni, blockchainInfoUni, nodeInfoUni, uptimeUni, blockInfoUni, mempoolInfoResponse)
+                    .asTuple()
+                    .onItem().transform(tuple -> buildGlobalResponseFromTuple(tuple, errors));
+        }
+        return response;
     }
 
     public Uni<NetworkInfoResponse> getNetworkInfo() {
-        return callRpcNoParams(GET_NETWORK_INFO, NetworkInfoResponse.class);
+        return load(networkInfoSection, null, networkInfoMethod);
     }
 
     public Uni<String> getBestBlockHash() {
-        return callRpcNoParams(GET_BEST_BLOCK_HASH, String.class);
+        return load(bestBlockHashSection, null, bestBlockHashMethod);
     }
 
     public Uni<BlockInfoResponse> getBlockInfo(String blockHash) {
-        return callRpcTyped(GET_BLOCK, List.of(blockHash, 1), BlockInfoResponse.class);
+        return callRpcInternal(blockMethod, blockMethod.request(List.of(blockHash, 1)), null, null);
+    }
+
+    public Uni<BlockHeaderResponse> getBlockHeader(String blockHash) {
+        return getBlockHeader(blockHash, null);
+    }
+
+    private Uni<BlockHeaderResponse> getBlockHeader(String blockHash, RpcScope scope) {
+        return callRpcInternal(blockHeaderMethod, blockHeaderMethod.request(List.of(blockHash)), null, scope);
+    }
+
+    /**
+     * Returns the header of the block at the given tip.
+     * The dashboard only needs the header fields (time, nTx), so getblockheader is used instead of a verbose
+     * getblock that would list every txid. Headers are looked up by hash in the recent block index, so the tip is
+     * only fetched again when getbestblockhash returns another hash (new block or reorg).
+     */
+    private Uni<BlockHeaderResponse> getTipBlockHeader(String tipHash, RpcScope scope) {
+        final BlockHeaderResponse known = blockHeaderIndex.get(tipHash);
+        if (known != null) {
+            blockHeaderIndex.addTip(known);
+            return Uni.createFrom().item(known);
+        }
+        return getBlockHeader(tipHash, scope).onItem().invoke(header -> {
+            if (header != null) {
+                blockHeaderIndex.addTip(header);
+                backfillBlockHeaders();
+            }
+        });
+    }
+
+    /**
+     * Fills the recent block index back to its capacity in the background, one getblockheader per missing ancestor.
+     * This only happens at startup, or when the tip moved by more than one block between two refreshes.
+     */
+    private void backfillBlockHeaders() {
+        if (blockHeaderIndex.nextAncestorHash() == null || !headerBackfillRunning.compareAndSet(false, true)) {
+            return;
+        }
+        fetchNextAncestor()
+                .onTermination().invoke(() -> headerBackfillRunning.set(false))
+                .subscribe().with(
+                        _ -> LOG.debugf("Block header index filled with %d headers", blockHeaderIndex.size()),
+                        e -> LOG.debugf("Block header backfill stopped: %s", e.getMessage()));
+    }
+
+    private Uni<Void> fetchNextAncestor() {
+        final String hash = blockHeaderIndex.nextAncestorHash();
+        if (hash == null) {
+            return Uni.createFrom().voidItem();
+        }
+        return getBlockHeader(hash).onItem().transformToUni(header -> {
+            if (header == null || !blockHeaderIndex.addAncestor(header)) {
+                return Uni.createFrom().voidItem();
+            }
+            return fetchNextAncestor();
+        });
     }
 
     public Uni<BlockchainInfoResponse> getBlockchainInfo() {
-        return callRpcNoParams(GET_BLOCKCHAIN_INFO, BlockchainInfoResponse.class);
+        return load(blockchainInfoSection, null, blockchainInfoMethod);
     }
 
     public Uni<MempoolInfoResponse> getMempoolInfo() {
-        return callRpcNoParams(GET_MEMPOOL_INFO, MempoolInfoResponse.class);
+        return load(mempoolInfoSection, null, mempoolInfoMethod);
     }
 
     public Uni<Long> getUptimeSeconds() {
-        return callRpcNoParams(UPTIME, Long.class);
+        return load(uptimeSection, null, uptimeMethod);
     }
 
-    /**
-     * Helper method for RPC calls without parameters.
-     */
-    private <T> Uni<T> callRpcNoParams(String method, Class<T> type) {
-        return callRpcTyped(method, EMPTY_PARAMS, type);
+    private boolean isBatchEnabled() {
+        return dashboardConfig != null && dashboardConfig.rpc().batch();
+    }
+
+    private boolean isVirtualThreadsEnabled() {
+        return dashboardConfig != null && dashboardConfig.rpc().virtualThreads();
     }
 
     private <T> Uni<T> addErrorHandling(Uni<T> uni, String callName, Map<String, String> errors, Supplier<T> defaultValueSupplier) {
-        return uni.onFailure().retry()
-                .withBackOff(java.time.Duration.ofMillis(RETRY_DELAY_MS))
-                .atMost(MAX_RETRY_ATTEMPTS)
-                .onFailure().invoke(e -> recordError(callName, e, errors))
+        return uni.onFailure().invoke(e -> recordError(callName, e, errors))
                 .onFailure().recoverWithItem(defaultValueSupplier);
     }
 
+    /**
+     * Retries transient failures; calls rejected because the node is overloaded are not retried, nor any call once
+     * the refresh budget is spent.
+     *
+     * @param refresh the refresh the call belongs to, or null when the caller waits for the reply
+     */
+    private <T> Uni<T> withRetry(Uni<T> uni, Refresh refresh) {
+        return uni.onFailure(e -> !ConcurrencyLimiter.isOverload(e) && (refresh == null || !refresh.isSpent())).retry()
+                .withBackOff(Duration.ofMillis(RETRY_DELAY_MS))
+                .atMost(MAX_RETRY_ATTEMPTS);
+    }
+
+    /**
+     * Bounds the time a section may hold back the refresh, to its own deadline and to the time left to the refresh.
+     * A late section is served from its last result and flagged in the errors; without a last result the Uni fails
+     * with a {@link TimeoutException}. The call itself goes on, so a reply arriving meanwhile is kept for the next
+     * refresh; with {@code dashboard.rpc.virtual.threads}, it is interrupted once every refresh waiting on it has
+     * spent its budget (see {@link #scoped}).
+     *
+     * @param deadlineMs the section's deadline, or 0 to only bound it by the refresh budget
+     * @param last       returns the last result of the section, or null
+     */
+    private <T> Uni<T> withDeadline(Uni<T> uni, String callName, long deadlineMs, Refresh refresh,
+                                    Map<String, String> errors, Supplier<T> last) {
+        long timeoutNanos = deadlineMs > 0 ? deadlineMs * NANOS_TO_MILLIS : Long.MAX_VALUE;
+        if (refresh.isBounded()) {
+            timeoutNanos = Math.min(timeoutNanos, refresh.remainingNanos());
+        }
+        if (timeoutNanos == Long.MAX_VALUE) {
+            return uni;
+        }
+        final long waitedMs = Math.max(timeoutNanos, 0) / NANOS_TO_MILLIS;
+        return uni.ifNoItem().after(Duration.ofNanos(Math.max(timeoutNanos, 1))).recoverWithUni(() -> {
+            T stale = last.get();
+            if (stale == null) {
+                return Uni.createFrom().failure(new TimeoutException("No reply within " + waitedMs + " ms"));
+            }
+            LOG.warnf("%s RPC missed its deadline of %d ms, serving its last result", callName, waitedMs);
+            errors.put(callName, "No reply within " + waitedMs + " ms, showing the last result");
+            return Uni.createFrom().item(stale);
+        });
+    }
+
+    /**
+     * One refresh cycle and the time left to it.
+     *
+     * @param budgetNanos the refresh budget, or 0 when it is unbounded
+     */
+    private record Refresh(long startNanos, long budgetNanos) {
+
+        static Refresh start(long budgetMs) {
+            return new Refresh(System.nanoTime(), budgetMs * NANOS_TO_MILLIS);
+        }
+
+        boolean isBounded() {
+            return budgetNanos > 0;
+        }
+
+        long remainingNanos() {
+            return budgetNanos - (System.nanoTime() - startNanos);
+        }
+
+        boolean isSpent() {
+            return isBounded() && remainingNanos() <= 0;
+        }
+
+        /**
+         * Keeps the scope of calls this refresh waits on open until its budget is spent.
+         */
+        void waitOn(RpcScope scope) {
+            if (isBounded()) {
+                scope.keepOpenUntil(startNanos + budgetNanos);
+            } else {
+                scope.keepOpen();
+            }
+        }
+    }
+
     /**
      * Records an error in the errors map with appropriate logging.
      */
@@ -166,8 +652,23 @@ public class RpcServices implements DashboardDataProvider {
         errors.put(callName, errorMessage);
     }
 
-    private GlobalResponse buildGlobalResponseFromTuple(Tuple6<List<PeerInfoResponse>, BlockchainInfoResponse, NetworkInfoResponse, Long, BlockInfoResponse, MempoolInfoResponse> tuple, Map<String, String> errors) {
-        List<PeerInfoResponse> allPeers = tuple.getItem1();
+    private GlobalResponse buildGlobalResponseFromTuple(Tuple6<PeerViews, BlockchainInfoResponse, NetworkInfoResponse, Long, BlockHeaderResponse, MempoolInfoResponse> tuple, Map<String, String> errors) {
+        PeerViews peers = tuple.getItem1();
+        return new GlobalResponse(
+            peers.generalStats(),
+            peers.subverDistribution(),
+            peers.inbound(),
+            peers.outbound(),
+            BlockchainInfoView.from(tuple.getItem2()),
+            NetworkInfoView.from(tuple.getItem3()),
+            tuple.getItem4(),
+            toBlockView(tuple.getItem5()),
+            toMempoolView(tuple.getItem6()),
+            errors
+        );
+    }
+
+    private PeerViews toPeerViews(List<PeerInfoResponse> allPeers) {
         var peersByType = partitionPeersByDirection(allPeers);
         List<PeerInfoResponse> inboundPeers = peersByType.get(true);
         List<PeerInfoResponse> outboundPeers = peersByType.get(false);
@@ -176,18 +677,15 @@ public class RpcServices implements DashboardDataProvider {
         var generalStat = new GeneralStats(inboundPeers.size(), outboundPeers.size(), allPeers.size());
 
         // Map RPC responses to View objects - use parallel streams for larger datasets
-        return new GlobalResponse(
-            generalStat,
-            stats,
-            mapPeersToView(inboundPeers),
-            mapPeersToView(outboundPeers),
-            BlockchainInfoView.from(tuple.getItem2()),
-            NetworkInfoView.from(tuple.getItem3()),
-            tuple.getItem4(),
-            BlockInfoView.from(tuple.getItem5()),
-            MempoolInfoView.from(tuple.getItem6()),
-            errors
-        );
+        return new PeerViews(generalStat, stats, mapPeersToView(inboundPeers), mapPeersToView(outboundPeers));
+    }
+
+    private BlockInfoView toBlockView(BlockHeaderResponse header) {
+        return BlockInfoView.from(header, blockHeaderIndex.averageIntervalSeconds(), blockHeaderIndex.size());
+    }
+
+    private MempoolInfoView toMempoolView(MempoolInfoResponse info) {
+        return MempoolInfoView.from(info, mempoolActivity != null ? mempoolActivity.arrivalsPerSecond() : null);
     }
 
     /**
@@ -197,10 +695,6 @@ public class RpcServices implements DashboardDataProvider {
         return peers.stream().collect(Collectors.partitioningBy(PeerInfoResponse::inbound));
     }
 
-    private Uni<List<PeerInfoResponse>> executePeerInfoRpcCall() {
-        return callRpcTyped(GET_PEER_INFO, EMPTY_PARAMS, PEER_INFO_TYPE_REF);
-    }
-
     private List<PeerInfoView> mapPeersToView(List<PeerInfoResponse> peers) {
         return (peers.size() > PARALLEL_STREAM_THRESHOLD ? peers.parallelStream() : peers.stream())
                 .map(PeerInfoView::from)
@@ -233,41 +727,267 @@ public class RpcServices implements DashboardDataProvider {
         return Math.round((count / total) * 10000.0) / 100.0;
     }
 
-    private <T> Uni<T> callRpcTyped(String method, List<Object> params, Class<T> type) {
-        var resultType = objectMapper.getTypeFactory().constructType(type);
-        return callRpcInternal(method, params, resultType);
+    /**
+     * Returns the section's kept result while it is fresh, otherwise joins or starts its load.
+     * Retries and hedged requests happen within the load, so callers joining it share them too. Calls sent in a
+     * batch are not hedged: the batch replies as a whole, so a hedged request would only duplicate the slowest call.
+     *
+     * @param refresh the refresh the call belongs to, or null when the caller waits for the reply
+     */
+    private <T> Uni<T> load(CacheSection<T> section, RpcBatch batch, RpcMethod<T> method, Refresh refresh) {
+        final Uni<T> load = section.get(() -> batch != null
+                ? withRetry(timed(method, callRpc(batch, method, null)), refresh)
+                : scoped(refresh, scope -> {
+                    if (scope == null) {
+                        return withRetry(timed(method, hedge(method, null)), refresh);
+                    }
+                    loadScopes.put(section, scope);
+                    return withRetry(timed(method, hedge(method, scope)), refresh)
+                            .onTermination().invoke(() -> loadScopes.remove(section, scope));
+                }));
+        // A caller joining the load in progress keeps its calls running for as long as it waits on them
+        final RpcScope joined = loadScopes.get(section);
+        if (joined != null) {
+            waitOn(refresh, joined);
+        }
+        return load;
+    }
+
+    /**
+     * With {@code dashboard.rpc.virtual.threads}, runs the calls of one load, retries and hedged requests included,
+     * in their own scope. The scope is closed once the load terminates, or once every refresh waiting on the load
+     * has spent its budget, which interrupts the calls left; a caller outside a refresh, or a refresh without
+     * budget, keeps the calls running until they reply. Batches serve the loads of several sections, so their
+     * requests run on the shared scope.
+     *
+     * @param calls creates the calls of the load, given their scope, or null to run them on the worker pool
+     */
+    private <T> Uni<T> scoped(Refresh refresh, Function<RpcScope, Uni<T>> calls) {
+        if (!isVirtualThreadsEnabled()) {
+            return calls.apply(null);
+        }
+        final RpcScope scope = new RpcScope("rpc-load");
+        waitOn(refresh, scope);
+        return calls.apply(scope).onTermination().invoke(scope::close);
+    }
+
+    private static void waitOn(Refresh refresh, RpcScope scope) {
+        if (refresh != null) {
+            refresh.waitOn(scope);
+        } else {
+            scope.keepOpen();
+        }
+    }
+
+    private <T> Uni<T> load(CacheSection<T> section, RpcBatch batch, RpcMethod<T> method) {
+        return load(section, batch, method, null);
+    }
+
+    /**
+     * With {@code dashboard.rpc.hedge}, sends the call again on its own HTTP request when it is still pending after
+     * the 95th percentile of its recent latencies; the first reply wins and the other request is cancelled.
+     * A node answering slowly because of a long work queue would only get busier, so the hedged request goes
+     * through the concurrency limiter like any other call.
+     */
+    private <T> Uni<T> hedge(RpcMethod<T> method, RpcScope scope) {
+        Uni<T> call = callRpc(null, method, scope);
+        if (dashboardConfig == null || !dashboardConfig.rpc().hedge()) {
+            return call;
+        }
+        return Uni.createFrom().deferred(() -> {
+            long delayNanos = method.latency().percentile(HEDGE_PERCENTILE);
+            if (delayNanos < 0) {
+                return call;
+            }
+            Uni<T> hedged = Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(Duration.ofNanos(delayNanos))
+                    .onItem().transformToUni(_ -> {
+                        LOG.debugf("RPC '%s' pending after %d ms, sending a hedged request",
+                                method.name(), delayNanos / NANOS_TO_MILLIS);
+                        return callRpc(null, method, scope);
+                    });
+            return Uni.combine().any().of(call, hedged);
+        });
+    }
+
+    /**
+     * Records the latency of a call, from its subscription to its first reply. A hedged call is timed from its first
+     * request, whichever request replies: the sample is never shorter than the hedge delay, so that the percentile
+     * the delay is taken from does not shrink as hedged requests win.
+     */
+    private <T> Uni<T> timed(RpcMethod<T> method, Uni<T> call) {
+        return Uni.createFrom().deferred(() -> {
+            final long start = System.nanoTime();
+            return call.onItem().invoke(() -> method.latency().record(System.nanoTime() - start));
+        });
     }
 
-    private <T> Uni<T> callRpcTyped(String method, List<Object> params, TypeReference<T> type) {
-        var resultType = objectMapper.getTypeFactory().constructType(type);
-        return callRpcInternal(method, params, resultType);
+    /**
+     * Routes a parameterless call either into the given batch or, when {@code batch} is null, through its own
+     * HTTP request.
+     */
+    private <T> Uni<T> callRpc(RpcBatch batch, RpcMethod<T> method, RpcScope scope) {
+        // Registered in the batch right away: the batch is sent when its first call is subscribed
+        return batch == null
+                ? callRpcInternal(method, method.request(), method.encodedRequest(), scope)
+                : batch.add(method).onItem().transform(reply -> decodeBatchReply(method, reply));
+    }
+
+    /**
+     * Executes a single call.
+     *
+     * @param encodedRequest the JSON encoding of {@code rpcRequest} if already known, or null to encode it on demand
+     */
+    private <T> Uni<T> callRpcInternal(RpcMethod<T> method, RpcRequestDto rpcRequest, byte[] encodedRequest, RpcScope scope) {
+        final String target = "method " + method.name();
+
+        return Uni.createFrom().deferred(() -> {
+            final long start = System.nanoTime();
+            // Static requests are sent as encoded once, whatever the transport
+            Supplier<byte[]> blockingCall = encodedRequest != null
+                    ? () -> rpcClient.executeEncodedRpcCall(encodedRequest)
+                    : () -> rpcClient.executeRpcCall(rpcRequest);
+            return send(blockingCall, () -> encodedRequest != null ? encodedRequest : objectMapper.writeValueAsBytes(rpcRequest), scope)
+                    .onItem().transform(body -> {
+                        RpcResponse<T> rpcResponse = readBody(body, method.responseType(), target, start);
+                        T result = unwrapResult(method.name(), rpcResponse);
+
+                        if (LOG.isDebugEnabled()) {
+                            long durationMs = (System.nanoTime() - start) / NANOS_TO_MILLIS;
+                            LOG.debugf("RPC '%s' executed in %d ms", method.name(), durationMs);
+                        }
+                        return result;
+                    })
+                    // RPC exceptions are propagated as-is, anything else is a transport failure
+                    .onFailure(e -> !(e instanceof RpcException)).transform(e -> connectionFailure(target, e, start));
+        });
+    }
+
+    /**
+     * Sends a JSON-RPC batch in one HTTP request and indexes the reply elements by request id.
+     */
+    private Uni<Map<String, RpcResponse<TokenBuffer>>> executeBatch(List<RpcMethod<?>> methods) {
+        final String target = "batch " + methods.stream().map(RpcMethod::name).toList();
+
+        return Uni.createFrom().deferred(() -> {
+            final long start = System.nanoTime();
+            final byte[] encodedBatch = encodeBatch(methods);
+            return send(() -> rpcClient.executeEncodedRpcCall(encodedBatch), () -> encodedBatch, null)
+                    .onItem().transform(body -> {
+                        List<RpcResponse<TokenBuffer>> replies = readBody(body, batchReplyType, target, start);
+                        Map<String, RpcResponse<TokenBuffer>> byId = new HashMap<>(replies.size() * 2);
+                        for (RpcResponse<TokenBuffer> reply : replies) {
+                            byId.put(reply.getId(), reply);
+                        }
+
+                        if (LOG.isDebugEnabled()) {
+                            long durationMs = (System.nanoTime() - start) / NANOS_TO_MILLIS;
+                            LOG.debugf("RPC batch of %d calls executed in %d ms", methods.size(), durationMs);
+                        }
+                        return byId;
+                    })
+                    .onFailure(e -> !(e instanceof RpcException)).transform(e -> connectionFailure(target, e, start));
+        });
+    }
+
+    /**
+     * Builds the JSON array of a batch from the pre-encoded requests, without going through Jackson.
+     */
+    private static byte[] encodeBatch(List<RpcMethod<?>> methods) {
+        int length = methods.size() + 1;
+        for (RpcMethod<?> method : methods) {
+            length += method.encodedRequest().length;
+        }
+        byte[] body = new byte[length];
+        body[0] = BATCH_START;
+        int position = 1;
+        for (RpcMethod<?> method : methods) {
+            if (position > 1) {
+                body[position++] = BATCH_SEPARATOR;
+            }
+            byte[] request = method.encodedRequest();
+            System.arraycopy(request, 0, body, position, request.length);
+            position += request.length;
+        }
+        body[position] = BATCH_END;
+        return body;
     }
 
-    private <T> Uni<T> callRpcInternal(String method, List<Object> params, JavaType resultType) {
-        final var rpcRequest = new RpcRequestDto(JSON_RPC_VERSION, REQUEST_ID_PREFIX + method, method, params);
+    /**
+     * Performs the HTTP exchange with the node, once the concurrency limiter lets it start.
+     */
+    private Uni<byte[]> send(Supplier<byte[]> blockingCall, EncodedRequest encodedRequest, RpcScope scope) {
+        return limiter.run(() -> exchange(blockingCall, encodedRequest, scope));
+    }
 
-        return Uni.createFrom().item(() -> {
-            long start = System.nanoTime();
+    /**
+     * Non-blocking clients are used directly on the calling (event loop) thread with the encoded request;
+     * blocking clients are offloaded to the worker pool or, with {@code dashboard.rpc.virtual.threads}, to a virtual
+     * thread of the given scope (of the shared scope for calls outside a load, e.g. batches).
+     *
+     * @param scope the scope of the load the call belongs to, or null
+     */
+    private Uni<byte[]> exchange(Supplier<byte[]> blockingCall, EncodedRequest encodedRequest, RpcScope scope) {
+        if (rpcClient instanceof AsyncRpcClient asyncClient) {
+            final Buffer body;
             try {
-                final var rpcResponseType = objectMapper.getTypeFactory().constructParametricType(RpcResponse.class, resultType);
-                RpcResponse<T> rpcResponse = objectMapper.readValue(rpcClient.executeRpcCall(rpcRequest), rpcResponseType);
-
-                if (rpcResponse.getError() != null) {
-                    throw new RpcException("RPC Error for method " + method + ": " + rpcResponse.getError());
-                }
-
-                if (LOG.isDebugEnabled()) {
-                    long durationMs = (System.nanoTime() - start) / NANOS_TO_MILLIS;
-                    LOG.debugf("RPC '%s' executed in %d ms", method, durationMs);
-                }
-                return rpcResponse.getResult();
-            } catch (RpcException e) {
-                throw e; // Re-throw RPC exceptions as-is
-            } catch (Exception e) {
-                long durationMs = (System.nanoTime() - start) / NANOS_TO_MILLIS;
-                LOG.errorf(e, "RPC '%s' failed after %d ms", method, durationMs);
-                throw new RpcException("Connection failed for method " + method + ": " + e.getMessage(), e);
+                body = Buffer.buffer(encodedRequest.encode());
+            } catch (IOException e) {
+                return Uni.createFrom().failure(e);
             }
-        }).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+            return asyncClient.executeEncodedRpcCallAsync(body).onItem().transform(Buffer::getBytes);
+        }
+        if (scope != null) {
+            return scope.run(blockingCall);
+        }
+        if (sharedScope != null) {
+            return sharedScope.run(blockingCall);
+        }
+        return Uni.createFrom().item(blockingCall).runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    @FunctionalInterface
+    private interface EncodedRequest {
+        byte[] encode() throws IOException;
+    }
+
+    private <R> R readBody(byte[] body, JavaType type, String target, long start) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw connectionFailure(target, e, start);
+        }
+    }
+
+    private RpcException connectionFailure(String target, Throwable failure, long start) {
+        long durationMs = (System.nanoTime() - start) / NANOS_TO_MILLIS;
+        LOG.errorf(failure, "RPC %s failed after %d ms", target, durationMs);
+        return new RpcException("Connection failed for " + target + ": " + failure.getMessage(), failure);
+    }
+
+    /**
+     * Binds one element of a batch reply to its typed result.
+     * The result was buffered as tokens while the array was parsed, so it is replayed without re-reading any text.
+     */
+    private <T> T decodeBatchReply(RpcMethod<T> method, RpcResponse<TokenBuffer> reply) {
+        TokenBuffer result = unwrapResult(method.name(), reply);
+        if (result == null) {
+            return null;
+        }
+        try (JsonParser parser = result.asParser(objectMapper)) {
+            return objectMapper.readValue(parser, method.resultType());
+        } catch (Exception e) {
+            throw new RpcException("Invalid batch reply for method " + method.name() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the result of an RPC response, or throws if the node reported an error.
+     */
+    private <T> T unwrapResult(String method, RpcResponse<T> rpcResponse) {
+        if (rpcResponse.getError() != null) {
+            throw new RpcException("RPC Error for method " + method + ": " + rpcResponse.getError());
+        }
+        return rpcResponse.getResult();
     }
 }
@@ -0,0 +1,21 @@
+package comasky.rpcClass.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * DTO for the state of the adaptive RPC concurrency limiter of a node.
+ *
+ * @param enabled  Whether calls are limited.
+ * @param limit    Current number of calls allowed in flight.
+ * @param inFlight Number of calls in flight.
+ * @param queued   Number of calls waiting for a slot.
+ * @param rejected Number of calls rejected because the queue was full, since startup.
+ */
+@RegisterForReflection
+public record RpcLimiterStats(
+    boolean enabled,
+    int limit,
+    int inFlight,
+    int queued,
+    long rejected
+) {}
@@ -0,0 +1,21 @@
+package comasky.rpcClass.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * DTO for the outbound state of a dashboard WebSocket session.
+ *
+ * @param id         The session id.
+ * @param node       The node whose updates the session receives.
+ * @param queueDepth Number of frames held for the session: in flight and pending, 2 at most.
+ * @param sent       Number of frames sent to the session.
+ * @param dropped    Number of snapshots skipped because a newer one replaced them while the client was busy.
+ */
+@RegisterForReflection
+public record SessionStats(
+    String id,
+    String node,
+    int queueDepth,
+    long sent,
+    long dropped
+) {}
@@ -0,0 +1,23 @@
+package comasky.rpcClass.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+/**
+ * DTO for the occupancy of the dashboard WebSocket endpoints.
+ *
+ * @param max      Maximum number of sessions (dashboard.sessions.max).
+ * @param open     Number of sessions admitted.
+ * @param rejected Number of sessions refused because the limit was reached, since startup.
+ * @param evicted  Number of stuck sessions closed to admit new ones, since startup.
+ * @param sessions The outbound state of each session.
+ */
+@RegisterForReflection
+public record WebSocketStats(
+    int max,
+    int open,
+    long rejected,
+    long evicted,
+    List<SessionStats> sessions
+) {}
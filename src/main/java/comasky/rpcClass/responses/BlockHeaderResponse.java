@@ -0,0 +1,29 @@
+package comasky.rpcClass.responses;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Response wrapper for the 'getblockheader' RPC call (verbose).
+ * Contains the header of a specific block, without its transaction list.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@RegisterForReflection
+public record BlockHeaderResponse(
+    String hash,
+    int confirmations,
+    int height,
+    int version,
+    String versionHex,
+    String merkleroot,
+    long time,
+    long mediantime,
+    long nonce,
+    String bits,
+    double difficulty,
+    String chainwork,
+    @JsonProperty("nTx") int ntx,
+    String previousblockhash,
+    String nextblockhash
+) {}
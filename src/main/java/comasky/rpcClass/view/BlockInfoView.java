@@ -1,18 +1,28 @@
 package comasky.rpcClass.view;
 
-import comasky.rpcClass.responses.BlockInfoResponse;
+import comasky.rpcClass.responses.BlockHeaderResponse;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 
 /**
  * View object for Block information, tailored for the dashboard frontend.
+ * The block interval statistics cover the recent blocks kept in memory ({@code recentBlocks}) and are null until
+ * at least two of them are known.
  */
 @RegisterForReflection
 public record BlockInfoView(
     long time,
-    int nTx
+    int nTx,
+    String hash,
+    int height,
+    Double averageBlockIntervalSeconds,
+    int recentBlocks
 ) {
-    public static BlockInfoView from(BlockInfoResponse rpc) {
+    public BlockInfoView(long time, int nTx) {
+        this(time, nTx, null, 0, null, 0);
+    }
+
+    public static BlockInfoView from(BlockHeaderResponse rpc, Double averageBlockIntervalSeconds, int recentBlocks) {
         if (rpc == null) return null;
-        return new BlockInfoView(rpc.time(), rpc.ntx());
+        return new BlockInfoView(rpc.time(), rpc.ntx(), rpc.hash(), rpc.height(), averageBlockIntervalSeconds, recentBlocks);
     }
 }
@@ -16,9 +16,18 @@ public record MempoolInfoView(
     double mempoolminfee,
     double minrelaytxfee,
     int unbroadcastcount,
-    @JsonProperty("total_fee") double totalFee
+    @JsonProperty("total_fee") double totalFee,
+    Double txArrivalRate
 ) {
-    public static MempoolInfoView from(MempoolInfoResponse rpc) {
+    public MempoolInfoView(int size, long bytes, long usage, long maxmempool, double mempoolminfee,
+                           double minrelaytxfee, int unbroadcastcount, double totalFee) {
+        this(size, bytes, usage, maxmempool, mempoolminfee, minrelaytxfee, unbroadcastcount, totalFee, null);
+    }
+
+    /**
+     * @param txArrivalRate transactions added to the mempool per second, from ZMQ notifications (null if unknown)
+     */
+    public static MempoolInfoView from(MempoolInfoResponse rpc, Double txArrivalRate) {
         if (rpc == null) return null;
         return new MempoolInfoView(
             rpc.size(),
@@ -28,7 +37,8 @@ public record MempoolInfoView(
             rpc.mempoolminfee(),
             rpc.minrelaytxfee(),
             rpc.unbroadcastcount(),
-            rpc.totalFee()
+            rpc.totalFee(),
+            txArrivalRate
         );
     }
 }
@@ -5,16 +5,28 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import comasky.config.DashboardConfig;
 import comasky.rpcClass.dto.GlobalResponse;
 import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 
 /**
  * Provides a configured, high-performance, non-blocking cache for RPC data.
  * The cache duration is dynamically calculated based on the application configuration.
+ * <p>
+ * The dashboard data is assembled from {@link CacheSection sections} that expire and load independently; they
+ * live at least as long as the cached data, so the REST endpoints share the results fetched for the dashboard.
+ * <p>
+ * In refresh-ahead mode ({@code dashboard.cache.refresh.ahead}), data older than the cache duration is still
+ * returned right away while a single background reload runs; callers only wait for the node when there is no
+ * data yet, or when it is older than {@code dashboard.cache.max.staleness.ms}.
  */
 @ApplicationScoped
 public class CacheProvider {
@@ -24,6 +36,11 @@ public class CacheProvider {
     private static final long MILLIS_PER_SECOND = 1000L;
 
     private final AsyncCache<String, GlobalResponse> cache;
+    private final long cacheDurationMs;
+    private final List<CacheSection<?>> sections = new CopyOnWriteArrayList<>();
+
+    // Used by background reloads in refresh-ahead mode: the supplier of the latest call
+    private volatile Supplier<Uni<GlobalResponse>> lastDataSupplier;
 
     @Inject
     public CacheProvider(DashboardConfig config) {
@@ -31,12 +48,23 @@ public class CacheProvider {
         long pollingIntervalMs = config.polling().seconds() * MILLIS_PER_SECOND;
         long bufferMs = config.cache().validityBufferMs();
         long cacheDurationMs = Math.max(MIN_CACHE_DURATION_MS, pollingIntervalMs - bufferMs);
+        this.cacheDurationMs = cacheDurationMs;
 
         // Use the configured cache size (default is 1 for minimal memory usage)
-        this.cache = Caffeine.newBuilder()
-            .expireAfterWrite(Duration.ofMillis(cacheDurationMs))
-            .maximumSize(config.cache().maxItems())
-            .buildAsync();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(config.cache().maxItems());
+        if (config.cache().refreshAhead()) {
+            // Reload after the cache duration, expire only past the maximum staleness
+            long maxStalenessMs = Math.max(cacheDurationMs, config.cache().maxStalenessMs());
+            this.cache = builder
+                .refreshAfterWrite(Duration.ofMillis(cacheDurationMs))
+                .expireAfterWrite(Duration.ofMillis(maxStalenessMs))
+                .buildAsync((key, executor) -> lastDataSupplier.get().subscribeAsCompletionStage());
+        } else {
+            this.cache = builder
+                .expireAfterWrite(Duration.ofMillis(cacheDurationMs))
+                .buildAsync();
+        }
     }
 
     /**
@@ -47,6 +75,7 @@ public class CacheProvider {
      * @return A Uni<GlobalResponse> containing either cached or fresh data.
      */
     public Uni<GlobalResponse> getCachedData(Supplier<Uni<GlobalResponse>> dataSupplier) {
+        lastDataSupplier = dataSupplier;
         CompletableFuture<GlobalResponse> future = cache.get(RPC_DATA_KEY, (key, executor) ->
             dataSupplier.get().subscribeAsCompletionStage()
         );
@@ -54,11 +83,37 @@ public class CacheProvider {
     }
 
     /**
-     * Invalidates all entries in the cache.
+     * Fetches fresh data with the provided supplier, bypassing the cache, and replaces the cached data with it once
+     * fetched. Until then, callers keep getting the cached data rather than waiting for the node.
+     *
+     * @param dataSupplier A supplier providing a Uni<GlobalResponse> to fetch fresh data.
+     * @return A Uni<GlobalResponse> containing the fresh data.
+     */
+    public Uni<GlobalResponse> refreshCachedData(Supplier<Uni<GlobalResponse>> dataSupplier) {
+        lastDataSupplier = dataSupplier;
+        return dataSupplier.get()
+            .invoke(data -> cache.put(RPC_DATA_KEY, CompletableFuture.completedFuture(data)));
+    }
+
+    /**
+     * Creates a cache section, kept for the given time to live but never less than the cache duration.
+     *
+     * @param ttl the time to live of the section's data; zero to refresh it along with the cached data
+     */
+    public <T> CacheSection<T> section(Duration ttl) {
+        Duration minimum = Duration.ofMillis(cacheDurationMs);
+        CacheSection<T> section = new CacheSection<>(ttl.compareTo(minimum) > 0 ? ttl : minimum);
+        sections.add(section);
+        return section;
+    }
+
+    /**
+     * Invalidates all entries in the cache, sections included.
      * Useful for testing or forcing a refresh.
      */
     public void invalidateAll() {
         cache.synchronous().invalidateAll();
+        sections.forEach(CacheSection::invalidate);
     }
 
     /**
@@ -74,4 +129,11 @@ public class CacheProvider {
     public void invalidateRpcData() {
         cache.synchronous().invalidate(RPC_DATA_KEY);
     }
+
+    /**
+     * Drops the cached data as soon as the node reports a new block, before clients are notified.
+     */
+    void onNewBlock(@Observes @Priority(Interceptor.Priority.APPLICATION) NewBlockEvent event) {
+        invalidateRpcData();
+    }
 }
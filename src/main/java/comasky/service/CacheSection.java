@@ -0,0 +1,84 @@
+package comasky.service;
+
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * One independently expiring section of the dashboard data (peers, blockchain, network, uptime, block, mempool),
+ * created by {@link CacheProvider#section(Duration)}.
+ * <p>
+ * The last successful result is served until its time to live elapses, so data that rarely changes
+ * (e.g. getnetworkinfo) is fetched far less often than the dashboard polls, and the REST endpoints share the
+ * results fetched for the dashboard. Loads are single-flight: callers arriving while a load is in progress join it.
+ * Failures are never kept, so the next call tries the node again.
+ *
+ * @param <T> the type of the RPC result
+ */
+public final class CacheSection<T> {
+
+    private record Entry<T>(T value, long fetchedAtNanos) {}
+
+    private final long ttlNanos;
+
+    // Guarded by this
+    private Entry<T> last;
+    private Uni<T> loading;
+    private long generation;
+
+    CacheSection(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the kept result while it is fresh, the load in progress if any, otherwise a Uni loading a new one.
+     * The decision is taken when this method is called, so a fresh section never registers its call in an RPC
+     * batch; the returned Uni is expected to be subscribed right away.
+     *
+     * @param load creates the Uni performing the RPC call
+     */
+    public synchronized Uni<T> get(Supplier<Uni<T>> load) {
+        final long now = System.nanoTime();
+        if (last != null && now - last.fetchedAtNanos() < ttlNanos) {
+            return Uni.createFrom().item(last.value());
+        }
+        if (loading == null) {
+            final long loadGeneration = ++generation;
+            loading = load.get()
+                    .onItem().invoke(value -> store(loadGeneration, value, now))
+                    .onTermination().invoke(() -> finish(loadGeneration))
+                    .memoize().indefinitely();
+        }
+        return loading;
+    }
+
+    /**
+     * @return the last result kept, even once its time to live has elapsed, or null
+     */
+    public synchronized T last() {
+        return last != null ? last.value() : null;
+    }
+
+    private synchronized void store(long loadGeneration, T value, long fetchedAtNanos) {
+        // A load started before an invalidation may return outdated data: it is not kept
+        if (loadGeneration == generation) {
+            last = new Entry<>(value, fetchedAtNanos);
+        }
+    }
+
+    private synchronized void finish(long loadGeneration) {
+        if (loadGeneration == generation) {
+            loading = null;
+        }
+    }
+
+    /**
+     * Forgets the kept result, so the next call loads again.
+     */
+    public synchronized void invalidate() {
+        last = null;
+        loading = null;
+        generation++;
+    }
+}
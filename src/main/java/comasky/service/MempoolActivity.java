@@ -0,0 +1,87 @@
+package comasky.service;
+
+import comasky.config.DashboardConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Counts transactions entering the mempool, as reported by the ZMQ {@code sequence} notifications.
+ * <p>
+ * Arrivals are kept in one counter per second over a sliding window, so the rate costs neither RPC calls nor
+ * per-transaction allocations.
+ */
+@ApplicationScoped
+public class MempoolActivity {
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private final int windowSeconds;
+    private final LongSupplier clockMillis;
+    private final long[] counts;
+    private final long[] seconds;
+    private long startSecond = -1;
+
+    @Inject
+    public MempoolActivity(DashboardConfig config) {
+        this(config.zmq().rateWindowSeconds(), System::currentTimeMillis);
+    }
+
+    MempoolActivity(int windowSeconds, LongSupplier clockMillis) {
+        this.windowSeconds = windowSeconds;
+        this.clockMillis = clockMillis;
+        this.counts = new long[windowSeconds];
+        this.seconds = new long[windowSeconds];
+    }
+
+    /**
+     * Starts measuring. Until then, {@link #arrivalsPerSecond()} reports no rate.
+     */
+    public synchronized void start() {
+        if (startSecond < 0) {
+            startSecond = nowSecond();
+        }
+    }
+
+    /**
+     * Records one transaction added to the mempool.
+     */
+    public synchronized void recordArrival() {
+        long now = nowSecond();
+        int slot = (int) (now % windowSeconds);
+        if (seconds[slot] != now) {
+            seconds[slot] = now;
+            counts[slot] = 0;
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Average number of transactions added to the mempool per second over the window (or since the start, if
+     * shorter). The current, incomplete second is not included.
+     *
+     * @return the arrival rate, or null if the event stream is not subscribed or no full second has elapsed yet
+     */
+    public synchronized Double arrivalsPerSecond() {
+        if (startSecond < 0) {
+            return null;
+        }
+        long now = nowSecond();
+        long elapsed = Math.min(windowSeconds, now - startSecond);
+        if (elapsed <= 0) {
+            return null;
+        }
+        long total = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (seconds[i] < now && seconds[i] >= now - elapsed) {
+                total += counts[i];
+            }
+        }
+        return (double) total / elapsed;
+    }
+
+    private long nowSecond() {
+        return clockMillis.getAsLong() / MILLIS_PER_SECOND;
+    }
+}
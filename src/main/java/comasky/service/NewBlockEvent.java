@@ -0,0 +1,8 @@
+package comasky.service;
+
+/**
+ * CDI event fired when the node reports a change of its best chain (block connected or disconnected).
+ *
+ * @param hash the hash of the block, as displayed by the RPC interface
+ */
+public record NewBlockEvent(String hash) {}
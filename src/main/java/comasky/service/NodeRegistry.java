@@ -0,0 +1,97 @@
+package comasky.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.RpcClient;
+import comasky.client.RpcClientProducer;
+import comasky.config.BitcoinRpcConfig;
+import comasky.config.DashboardConfig;
+import comasky.config.RpcNodeConfig;
+import comasky.rpcClass.RpcServices;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Registry of the Bitcoin nodes monitored by this instance.
+ * <p>
+ * The {@value #DEFAULT_NODE} node is the one described by the top-level {@code bitcoin.rpc.*} properties and is
+ * served by the CDI-managed {@link RpcServices}. Each node declared under {@code bitcoin.rpc.nodes.<name>.*} gets
+ * its own RPC client, cache and refresh tiers, so nodes are polled independently of each other.
+ */
+@ApplicationScoped
+public class NodeRegistry {
+
+    private static final Logger LOG = Logger.getLogger(NodeRegistry.class);
+
+    /**
+     * Name of the node configured by the top-level {@code bitcoin.rpc.*} properties.
+     */
+    public static final String DEFAULT_NODE = "default";
+
+    private final Map<String, RpcServices> nodes;
+
+    @Inject
+    public NodeRegistry(BitcoinRpcConfig rpcConfig, DashboardConfig dashboardConfig, RpcServices defaultNode,
+                        RpcClientProducer clientProducer, ObjectMapper objectMapper) {
+        Map<String, RpcServices> registered = new LinkedHashMap<>();
+        registered.put(DEFAULT_NODE, defaultNode);
+        rpcConfig.nodes().forEach((name, node) -> {
+            if (registered.containsKey(name)) {
+                throw new IllegalStateException("Node name '" + name + "' is reserved for the default node");
+            }
+            registered.put(name, RpcServices.forNode(objectMapper, createClient(clientProducer, name, node),
+                    dashboardConfig, new CacheProvider(dashboardConfig)));
+            LOG.debugf("Registered node %s (%s://%s:%d)", name, node.scheme(), node.host(), node.port());
+        });
+        this.nodes = Collections.unmodifiableMap(registered);
+    }
+
+    private static RpcClient createClient(RpcClientProducer clientProducer, String name, RpcNodeConfig node) {
+        try {
+            return clientProducer.createRpcClient(node);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid RPC URL for node " + name, e);
+        }
+    }
+
+    /**
+     * Releases the services of the declared nodes, which are not managed by CDI, on shutdown.
+     */
+    @PreDestroy
+    void close() {
+        nodes.forEach((name, services) -> {
+            if (!DEFAULT_NODE.equals(name)) {
+                services.close();
+            }
+        });
+    }
+
+    /**
+     * @return the names of the monitored nodes, the default node first
+     */
+    public Set<String> names() {
+        return nodes.keySet();
+    }
+
+    /**
+     * @return the services of the given node, or empty if no such node is configured
+     */
+    public Optional<RpcServices> get(String name) {
+        return Optional.ofNullable(nodes.get(name));
+    }
+
+    /**
+     * @return the services of all monitored nodes, keyed by name
+     */
+    public Map<String, RpcServices> all() {
+        return nodes;
+    }
+}
@@ -0,0 +1,83 @@
+package comasky.service;
+
+import comasky.rpcClass.RpcServices;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.jboss.logging.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The single poller of the monitored nodes.
+ * <p>
+ * Once per polling interval, each node whose snapshot stream has subscribers (see
+ * {@link RpcServices#snapshots}) is fetched once and the snapshot is published to them as soon as it lands, so
+ * that consumers react to the data instead of pulling it on their own schedule. The cached data the fetch leaves
+ * behind serves the REST endpoints until the next poll. The default node is also polled right away when it reports
+ * a new block, after the cached data has been invalidated.
+ * <p>
+ * Polls of a node never overlap: a poll requested while one is in flight (a burst of blocks during the initial
+ * block download or a reorg, or the scheduled poll) is coalesced into a single poll run once the current one ends.
+ */
+@ApplicationScoped
+public class SnapshotPoller {
+
+    private static final Logger LOG = Logger.getLogger(SnapshotPoller.class);
+
+    private static final int IDLE = 0;
+    private static final int POLLING = 1;
+    private static final int POLL_PENDING = 2;
+
+    @Inject
+    NodeRegistry nodeRegistry;
+
+    private final Map<String, AtomicInteger> pollStates = new ConcurrentHashMap<>();
+
+    @Scheduled(every = "${dashboard.polling.interval.seconds}s", identity = "snapshot-poller")
+    void pollAll() {
+        nodeRegistry.all().forEach(this::poll);
+    }
+
+    void onNewBlock(@Observes @Priority(Interceptor.Priority.APPLICATION + 100) NewBlockEvent event) {
+        LOG.debugf("Polling after new block %s", event.hash());
+        nodeRegistry.get(NodeRegistry.DEFAULT_NODE).ifPresent(services -> poll(NodeRegistry.DEFAULT_NODE, services));
+    }
+
+    private void poll(String node, RpcServices services) {
+        if (!services.hasSnapshotSubscribers()) {
+            return;
+        }
+        AtomicInteger state = pollStates.computeIfAbsent(node, _ -> new AtomicInteger(IDLE));
+        while (true) {
+            int current = state.get();
+            if (current == IDLE && state.compareAndSet(IDLE, POLLING)) {
+                start(node, services, state);
+                return;
+            }
+            if (current == POLL_PENDING || current == POLLING && state.compareAndSet(POLLING, POLL_PENDING)) {
+                LOG.debugf("Poll of node %s already in flight, coalescing", node);
+                return;
+            }
+        }
+    }
+
+    private void start(String node, RpcServices services, AtomicInteger state) {
+        services.poll()
+                .onTermination().invoke(() -> {
+                    // Run the poll requested meanwhile, if any
+                    if (!state.compareAndSet(POLLING, IDLE) && state.compareAndSet(POLL_PENDING, POLLING)) {
+                        start(node, services, state);
+                    }
+                })
+                .subscribe().with(
+                        _ -> LOG.debugf("Polled node %s", node),
+                        failure -> LOG.errorf(failure, "Failed to poll node %s", node)
+                );
+    }
+}
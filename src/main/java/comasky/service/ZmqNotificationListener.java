@@ -0,0 +1,167 @@
+package comasky.service;
+
+import comasky.config.DashboardConfig;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.zeromq.SocketType;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
+import org.zeromq.ZMsg;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Subscribes to the ZMQ notifications published by bitcoind (pure Java, through JeroMQ).
+ * <p>
+ * A {@code hashblock} notification, or a block connected/disconnected {@code sequence} notification, fires a
+ * {@link NewBlockEvent} so that cached data is invalidated and clients are updated without waiting for the next
+ * polling tick. Transactions added to the mempool ({@code sequence}) are counted by {@link MempoolActivity}.
+ * <p>
+ * The listener is only started when {@code dashboard.zmq.hashblock.endpoint} or
+ * {@code dashboard.zmq.sequence.endpoint} is set (matching bitcoind's {@code -zmqpubhashblock} and
+ * {@code -zmqpubsequence} options).
+ */
+@ApplicationScoped
+public class ZmqNotificationListener {
+
+    private static final Logger LOG = Logger.getLogger(ZmqNotificationListener.class);
+
+    static final String TOPIC_HASHBLOCK = "hashblock";
+    static final String TOPIC_SEQUENCE = "sequence";
+
+    private static final int HASH_LENGTH = 32;
+    private static final byte BLOCK_CONNECTED = 'C';
+    private static final byte BLOCK_DISCONNECTED = 'D';
+    private static final byte TX_ADDED = 'A';
+    private static final int RECEIVE_TIMEOUT_MS = 1000;
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Inject
+    DashboardConfig config;
+
+    @Inject
+    Event<NewBlockEvent> newBlockEvent;
+
+    @Inject
+    MempoolActivity mempoolActivity;
+
+    private volatile boolean running;
+    private volatile String lastBlockHash;
+    private ZContext context;
+    private Thread thread;
+
+    void onStart(@Observes StartupEvent event) {
+        DashboardConfig.ZmqConfig zmq = config.zmq();
+        if (zmq.hashblockEndpoint().isEmpty() && zmq.sequenceEndpoint().isEmpty()) {
+            LOG.debug("ZMQ notifications disabled (no endpoint configured)");
+            return;
+        }
+        Set<String> endpoints = new LinkedHashSet<>();
+        Set<String> topics = new LinkedHashSet<>();
+        zmq.hashblockEndpoint().ifPresent(endpoint -> {
+            endpoints.add(endpoint);
+            topics.add(TOPIC_HASHBLOCK);
+        });
+        zmq.sequenceEndpoint().ifPresent(endpoint -> {
+            endpoints.add(endpoint);
+            topics.add(TOPIC_SEQUENCE);
+            mempoolActivity.start();
+        });
+
+        running = true;
+        context = new ZContext();
+        thread = Thread.ofPlatform().daemon().name("zmq-notifications").start(() -> listen(endpoints, topics));
+        LOG.infof("Listening to ZMQ %s notifications on %s", topics, endpoints);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        // Closing the context unblocks the receiving thread
+        context.close();
+        try {
+            thread.join(RECEIVE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void listen(Set<String> endpoints, Set<String> topics) {
+        try (ZMQ.Socket socket = context.createSocket(SocketType.SUB)) {
+            socket.setReceiveTimeOut(RECEIVE_TIMEOUT_MS);
+            endpoints.forEach(socket::connect);
+            topics.forEach(topic -> socket.subscribe(topic.getBytes(StandardCharsets.US_ASCII)));
+
+            while (running && !Thread.currentThread().isInterrupted()) {
+                ZMsg message = ZMsg.recvMsg(socket);
+                if (message == null) {
+                    continue;
+                }
+                try {
+                    if (message.size() >= 2) {
+                        handleMessage(message.popString(), message.pop().getData());
+                    }
+                } catch (RuntimeException e) {
+                    LOG.warnf(e, "Failed to handle ZMQ notification");
+                } finally {
+                    message.destroy();
+                }
+            }
+        } catch (ZMQException | IllegalStateException e) {
+            // Expected when the context is closed during shutdown
+            if (running) {
+                LOG.errorf(e, "ZMQ listener stopped unexpectedly");
+            }
+        }
+    }
+
+    /**
+     * Handles one notification: its topic and its body frame (the trailing sequence number frame is ignored).
+     */
+    void handleMessage(String topic, byte[] body) {
+        if (body.length < HASH_LENGTH) {
+            return;
+        }
+        if (TOPIC_HASHBLOCK.equals(topic)) {
+            onBlockConnected(HEX.formatHex(body, 0, HASH_LENGTH));
+        } else if (TOPIC_SEQUENCE.equals(topic) && body.length > HASH_LENGTH) {
+            byte label = body[HASH_LENGTH];
+            if (label == TX_ADDED) {
+                mempoolActivity.recordArrival();
+            } else if (label == BLOCK_CONNECTED) {
+                onBlockConnected(HEX.formatHex(body, 0, HASH_LENGTH));
+            } else if (label == BLOCK_DISCONNECTED) {
+                onBlockDisconnected(HEX.formatHex(body, 0, HASH_LENGTH));
+            }
+        }
+    }
+
+    private void onBlockConnected(String hash) {
+        // hashblock and sequence both report a connected block: notify once
+        if (hash.equals(lastBlockHash)) {
+            return;
+        }
+        lastBlockHash = hash;
+        LOG.debugf("New block notified by ZMQ: %s", hash);
+        newBlockEvent.fire(new NewBlockEvent(hash));
+    }
+
+    private void onBlockDisconnected(String hash) {
+        // Only sequence reports disconnections, and the tip changes even when the block was the last one connected
+        // (a reorg): always notify, and notify again if the same block gets connected back
+        lastBlockHash = null;
+        LOG.debugf("Block disconnected notified by ZMQ: %s", hash);
+        newBlockEvent.fire(new NewBlockEvent(hash));
+    }
+}
@@ -8,4 +8,10 @@ export interface BlockInfoResponse {
   nTx: number;
   /** Block hash (optional) */
   hash?: string;
+  /** Block height (optional) */
+  height?: number;
+  /** Average time between the recent blocks, in seconds (null until two blocks are known) */
+  averageBlockIntervalSeconds?: number | null;
+  /** Number of recent blocks the average is computed from */
+  recentBlocks?: number;
 }
@@ -20,4 +20,6 @@ export interface MempoolInfoResponse {
   unbroadcastcount: number;
   /** Total fees (in BTC) of all transactions in the mempool */
   total_fee: number;
+  /** Transactions added to the mempool per second, from ZMQ notifications (null when not subscribed) */
+  txArrivalRate?: number | null;
 }
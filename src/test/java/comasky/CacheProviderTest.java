@@ -5,17 +5,21 @@ import comasky.rpcClass.dto.GeneralStats;
 import comasky.rpcClass.dto.GlobalResponse;
 import comasky.rpcClass.dto.SubverDistribution;
 import comasky.service.CacheProvider;
+import comasky.service.NewBlockEvent;
 import io.quarkus.test.junit.QuarkusTest;
 import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for CacheProvider service.
@@ -30,6 +34,9 @@ class CacheProviderTest {
     @Inject
     DashboardConfig config;
 
+    @Inject
+    Event<NewBlockEvent> newBlockEvent;
+
     @BeforeEach
     void setup() {
         cacheProvider.invalidateAll();
@@ -175,6 +182,86 @@ class CacheProviderTest {
         assertEquals(1, callCount.get(), "Concurrent calls should only trigger one supplier invocation");
     }
 
+    @Test
+    void testNewBlockEventInvalidatesCachedData() {
+        // Arrange
+        final AtomicInteger callCount = new AtomicInteger(0);
+        final GlobalResponse mockData = createMockGlobalResponse();
+        cacheProvider.getCachedData(() -> {
+            callCount.incrementAndGet();
+            return Uni.createFrom().item(mockData);
+        }).await().indefinitely();
+
+        // Act
+        newBlockEvent.fire(new NewBlockEvent("00000000000000000001abc"));
+        cacheProvider.getCachedData(() -> {
+            callCount.incrementAndGet();
+            return Uni.createFrom().item(mockData);
+        }).await().indefinitely();
+
+        // Assert
+        assertEquals(2, callCount.get(), "A new block should force a refetch");
+    }
+
+    @Test
+    void testRefreshCachedDataKeepsServingTheCachedDataUntilFetched() {
+        // Arrange
+        final GlobalResponse cached = createMockGlobalResponse();
+        final GlobalResponse fresh = createMockGlobalResponse();
+        cacheProvider.getCachedData(() -> Uni.createFrom().item(cached)).await().indefinitely();
+
+        // Act - the refresh is slow, but callers get the cached data right away
+        final Uni<GlobalResponse> refresh = cacheProvider.refreshCachedData(
+                () -> Uni.createFrom().item(fresh).onItem().delayIt().by(Duration.ofMillis(200))).memoize().indefinitely();
+        refresh.subscribe().with(_ -> { });
+        final GlobalResponse during = cacheProvider.getCachedData(() -> Uni.createFrom().item(fresh))
+                .await().atMost(Duration.ofMillis(100));
+        final GlobalResponse refreshed = refresh.await().indefinitely();
+
+        // Assert
+        assertSame(cached, during, "The cached data should be served while refreshing");
+        assertSame(fresh, refreshed);
+        assertSame(fresh, cacheProvider.getCachedData(() -> Uni.createFrom().item(cached)).await().indefinitely(),
+                "The fresh data should replace the cached data");
+    }
+
+    @Test
+    void testRefreshAheadServesStaleDataWhileReloading() throws InterruptedException {
+        // Arrange - 1s polling with a 900ms buffer: data is reloaded once older than 100ms
+        final DashboardConfig refreshAheadConfig = mock(DashboardConfig.class, RETURNS_DEEP_STUBS);
+        when(refreshAheadConfig.polling().seconds()).thenReturn(1);
+        when(refreshAheadConfig.cache().validityBufferMs()).thenReturn(900);
+        when(refreshAheadConfig.cache().maxItems()).thenReturn(1);
+        when(refreshAheadConfig.cache().refreshAhead()).thenReturn(true);
+        when(refreshAheadConfig.cache().maxStalenessMs()).thenReturn(60_000L);
+        final CacheProvider refreshAheadCache = new CacheProvider(refreshAheadConfig);
+
+        final GlobalResponse first = createMockGlobalResponse();
+        final GlobalResponse second = createMockGlobalResponse();
+        final AtomicInteger callCount = new AtomicInteger(0);
+        refreshAheadCache.getCachedData(() -> {
+            callCount.incrementAndGet();
+            return Uni.createFrom().item(first);
+        }).await().indefinitely();
+        Thread.sleep(150);
+
+        // Act - the reload is slow, but the caller gets the previous data right away
+        final GlobalResponse result = refreshAheadCache.getCachedData(() -> {
+            callCount.incrementAndGet();
+            return Uni.createFrom().item(second).onItem().delayIt().by(Duration.ofMillis(200));
+        }).await().atMost(Duration.ofMillis(100));
+
+        // Assert
+        assertSame(first, result, "Stale data should be served while reloading");
+        GlobalResponse reloaded = result;
+        for (int i = 0; i < 50 && reloaded != second; i++) {
+            Thread.sleep(20);
+            reloaded = refreshAheadCache.getCachedData(() -> Uni.createFrom().item(second)).await().indefinitely();
+        }
+        assertSame(second, reloaded, "Reloaded data should replace the stale data");
+        assertEquals(2, callCount.get(), "A single background reload should run");
+    }
+
     private GlobalResponse createMockGlobalResponse() {
         final GeneralStats stats = new GeneralStats(5, 10, 15);
         final SubverDistribution distribution = new SubverDistribution(Collections.emptyList(), Collections.emptyList());
@@ -1,7 +1,9 @@
 package comasky;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import comasky.client.RpcClient;
 import comasky.client.RpcRequestDto;
+import comasky.rpcClass.RpcServices;
 import comasky.service.CacheProvider;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.common.http.TestHTTPResource;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatcher;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -35,6 +38,12 @@ class DashboardWebSocketAdvancedTest {
     @Inject
     CacheProvider cacheProvider;
 
+    @Inject
+    RpcServices rpcServices;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     @TestHTTPResource("/ws/dashboard")
     URI uri;
 
@@ -67,31 +76,33 @@ class DashboardWebSocketAdvancedTest {
     public void setup() {
         reset(rpcClient);
         cacheProvider.invalidateAll();
+        rpcServices.invalidateSections();
         setupRpcClientMocks();
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper);
     }
 
     private void setupRpcClientMocks() {
         try {
             when(rpcClient.executeRpcCall(argThat(new RpcMethodMatcher("getblockchaininfo"))))
-                .thenReturn("{\"result\": {\"chain\": \"main\", \"blocks\": 123}, \"error\": null, \"id\": \"1\"}");
+                .thenReturn("{\"result\": {\"chain\": \"main\", \"blocks\": 123}, \"error\": null, \"id\": \"1\"}".getBytes(StandardCharsets.UTF_8));
 
             when(rpcClient.executeRpcCall(argThat(new RpcMethodMatcher("getnetworkinfo"))))
-                .thenReturn("{\"result\": {\"version\": 70016, \"subversion\": \"/Satoshi:27.0.0/\"}, \"error\": null, \"id\": \"1\"}");
+                .thenReturn("{\"result\": {\"version\": 70016, \"subversion\": \"/Satoshi:27.0.0/\"}, \"error\": null, \"id\": \"1\"}".getBytes(StandardCharsets.UTF_8));
 
             when(rpcClient.executeRpcCall(argThat(new RpcMethodMatcher("getpeerinfo"))))
-                .thenReturn("{\"result\": [], \"error\": null, \"id\": \"1\"}");
+                .thenReturn("{\"result\": [], \"error\": null, \"id\": \"1\"}".getBytes(StandardCharsets.UTF_8));
 
             when(rpcClient.executeRpcCall(argThat(new RpcMethodMatcher("uptime"))))
-                .thenReturn("{\"result\": 1000, \"error\": null, \"id\": \"1\"}");
+                .thenReturn("{\"result\": 1000, \"error\": null, \"id\": \"1\"}".getBytes(StandardCharsets.UTF_8));
 
             when(rpcClient.executeRpcCall(argThat(new RpcMethodMatcher("getbestblockhash"))))
-                .thenReturn("{\"result\": \"some_hash\", \"error\": null, \"id\": \"1\"}");
+                .thenReturn("{\"result\": \"some_hash\", \"error\": null, \"id\": \"1\"}".getBytes(StandardCharsets.UTF_8));
 
-            when(rpcClient.executeRpcCall(argThat(new RpcMethodMatcher("getblock"))))
-                .thenReturn("{\"result\": {\"time\": 12345, \"nTx\": 10}, \"error\": null, \"id\": \"1\"}");
+            when(rpcClient.executeRpcCall(argThat(new RpcMethodMatcher("getblockheader"))))
+                .thenReturn("{\"result\": {\"time\": 12345, \"nTx\": 10}, \"error\": null, \"id\": \"1\"}".getBytes(StandardCharsets.UTF_8));
 
             when(rpcClient.executeRpcCall(argThat(new RpcMethodMatcher("getmempoolinfo"))))
-                .thenReturn("{\"result\": {\"size\": 1}, \"error\": null, \"id\": \"1\"}");
+                .thenReturn("{\"result\": {\"size\": 1}, \"error\": null, \"id\": \"1\"}".getBytes(StandardCharsets.UTF_8));
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to setup mocks", e);
@@ -126,7 +137,7 @@ class DashboardWebSocketAdvancedTest {
             verify(rpcClient, times(1)).executeRpcCall(argThat(new RpcMethodMatcher("getpeerinfo")));
             verify(rpcClient, times(1)).executeRpcCall(argThat(new RpcMethodMatcher("uptime")));
             verify(rpcClient, times(1)).executeRpcCall(argThat(new RpcMethodMatcher("getbestblockhash")));
-            verify(rpcClient, times(1)).executeRpcCall(argThat(new RpcMethodMatcher("getblock")));
+            verify(rpcClient, times(1)).executeRpcCall(argThat(new RpcMethodMatcher("getblockheader")));
             verify(rpcClient, atMost(1)).executeRpcCall(argThat(new RpcMethodMatcher("getmempoolinfo")));
 
         } finally {
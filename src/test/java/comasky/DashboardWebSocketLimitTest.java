@@ -0,0 +1,91 @@
+package comasky;
+
+import comasky.api.DashboardWebSocket;
+import comasky.rpcClass.RpcServices;
+import comasky.rpcClass.dto.GlobalResponse;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.websocket.ClientEndpoint;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.OnClose;
+import jakarta.websocket.OnMessage;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@TestProfile(DashboardWebSocketLimitTest.LimitProfile.class)
+class DashboardWebSocketLimitTest {
+
+    public static class LimitProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("dashboard.sessions.max", "1");
+        }
+    }
+
+    private static final LinkedBlockingDeque<String> MESSAGES = new LinkedBlockingDeque<>();
+    private static final LinkedBlockingDeque<CloseReason> CLOSES = new LinkedBlockingDeque<>();
+
+    @TestHTTPResource("/ws/dashboard")
+    URI uri;
+
+    @InjectMock
+    RpcServices rpcServices;
+
+    @Inject
+    DashboardWebSocket dashboardWebSocket;
+
+    @Test
+    void testOpen_rejectsSessionsPastTheLimit() throws Exception {
+        GlobalResponse response = new GlobalResponse(null, null, Collections.emptyList(), Collections.emptyList(),
+                null, null, 1000L, null, null, Collections.emptyMap());
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(response));
+        when(rpcServices.snapshots(any())).thenReturn(Multi.createFrom().nothing());
+        long rejectedBefore = dashboardWebSocket.getStats().rejected();
+
+        try (Session first = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "The first session should be admitted");
+
+            try (Session second = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+                CloseReason reason = CLOSES.poll(5, TimeUnit.SECONDS);
+                assertNotNull(reason, "The second session should be closed");
+                assertEquals(CloseReason.CloseCodes.TRY_AGAIN_LATER.getCode(), reason.getCloseCode().getCode());
+                assertTrue(reason.getReasonPhrase().matches("Too many sessions, retry in \\d+s"),
+                        reason.getReasonPhrase());
+            }
+            assertTrue(first.isOpen());
+            assertEquals(1, dashboardWebSocket.getStats().open());
+            assertEquals(rejectedBefore + 1, dashboardWebSocket.getStats().rejected());
+        }
+    }
+
+    @ClientEndpoint
+    public static class Client {
+        @OnMessage
+        void message(String msg) {
+            MESSAGES.add(msg);
+        }
+
+        @OnClose
+        void close(CloseReason reason) {
+            CLOSES.add(reason);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package comasky;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import comasky.rpcClass.DashboardSnapshot;
+import comasky.rpcClass.DashboardTopic;
 import comasky.rpcClass.RpcServices;
 import comasky.rpcClass.dto.GeneralStats;
 import comasky.rpcClass.dto.GlobalResponse;
@@ -12,6 +17,7 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.common.http.TestHTTPResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
 import jakarta.websocket.ClientEndpoint;
 import jakarta.websocket.ContainerProvider;
 import jakarta.websocket.OnMessage;
@@ -20,29 +26,54 @@ import jakarta.websocket.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
 class DashboardWebSocketTest {
 
     private static final LinkedBlockingDeque<String> MESSAGES = new LinkedBlockingDeque<>();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     @TestHTTPResource("/ws/dashboard")
     URI uri;
 
+    @TestHTTPResource("/ws/dashboard?mode=delta")
+    URI deltaUri;
+
+    @TestHTTPResource("/ws/dashboard?compress=deflate")
+    URI deflateUri;
+
     @InjectMock
     RpcServices rpcServices;
 
+    // Shared by the tests: the endpoint may still be subscribed to it from a previous test
+    private static final BroadcastProcessor<DashboardSnapshot> SNAPSHOTS = BroadcastProcessor.create();
+
     @BeforeEach
     public void setup() {
         MESSAGES.clear();
+        when(rpcServices.snapshots(any())).thenReturn(SNAPSHOTS);
     }
 
     @Test
@@ -64,6 +95,201 @@ class DashboardWebSocketTest {
         }
     }
 
+    @Test
+    void testOnOpen_sendsTheLastSnapshotWithoutFetching() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session first = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "Should have received a message on connect");
+            clearInvocations(rpcServices);
+
+            try (Session second = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+                String message = MESSAGES.poll(5, TimeUnit.SECONDS);
+
+                assertNotNull(message, "The new session should get the last snapshot");
+                assertTrue(message.contains("\"totalPeers\":10"));
+                verify(rpcServices, never()).getData();
+            }
+        }
+    }
+
+    @Test
+    void testSnapshots_areBroadcastAsSoonAsTheyArePublished() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session session = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "Should have received a message on connect");
+
+            GlobalResponse polled = createMockResponse();
+            SNAPSHOTS.onNext(new DashboardSnapshot(new GlobalResponse(new GeneralStats(3, 8, 11),
+                    polled.subverDistribution(), polled.inboundPeer(), polled.outboundPeer(),
+                    polled.blockchainInfoResponse(), polled.nodeInfo(), polled.upTime(), polled.block(),
+                    polled.mempoolInfo(), polled.errors()), DashboardTopic.ALL));
+            String message = MESSAGES.poll(5, TimeUnit.SECONDS);
+
+            assertNotNull(message, "The published snapshot should be broadcast");
+            assertTrue(message.contains("\"totalPeers\":11"), message);
+        }
+    }
+
+    @Test
+    void testProgressiveSnapshots_areOnlySentToDeltaModeSessions() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session full = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri);
+             Session delta = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, deltaUri)) {
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "Should have received a message on connect");
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "Should have received a message on connect");
+
+            GlobalResponse polled = createMockResponse();
+            GlobalResponse section = withBlocks(polled, polled.upTime() + 60, 870001);
+            SNAPSHOTS.onNext(new DashboardSnapshot(section, DashboardTopic.ALL, true));
+            JsonNode progressive = OBJECT_MAPPER.readTree(MESSAGES.poll(5, TimeUnit.SECONDS));
+            assertEquals("delta", progressive.get("type").asText(), "Only the delta mode session gets the section");
+            assertNull(MESSAGES.poll(500, TimeUnit.MILLISECONDS), "The full mode session waits for the complete one");
+
+            SNAPSHOTS.onNext(new DashboardSnapshot(section, DashboardTopic.ALL));
+            String complete = MESSAGES.poll(5, TimeUnit.SECONDS);
+            assertNotNull(complete, "The complete snapshot should be sent to the full mode session");
+            assertEquals(432060L, OBJECT_MAPPER.readTree(complete).get("upTime").asLong());
+            assertNull(MESSAGES.poll(500, TimeUnit.MILLISECONDS), "The delta mode session already holds it");
+        }
+    }
+
+    @Test
+    void testProgressiveSnapshots_areNotSentToFullModeSessionsConnectingMidRefresh() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session delta = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, deltaUri);
+             Session full = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "Should have received a message on connect");
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "Should have received a message on connect");
+
+            GlobalResponse polled = createMockResponse();
+            GlobalResponse section = withBlocks(polled, polled.upTime() + 60, 870001);
+            SNAPSHOTS.onNext(new DashboardSnapshot(section, DashboardTopic.ALL, true));
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "The delta mode session should get the section");
+
+            try (Session late = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+                String message = MESSAGES.poll(5, TimeUnit.SECONDS);
+                assertNotNull(message, "Should have received a message on connect");
+                JsonNode blockchainInfo = OBJECT_MAPPER.readTree(message).get("blockchainInfoResponse");
+                assertEquals(870000, blockchainInfo.get("blocks").asInt(),
+                        "A session connecting mid-refresh should get the last complete snapshot");
+            }
+        }
+    }
+
+    @Test
+    void testCountersOfConsecutivePolls_areNotBroadcastUntilAHeartbeatIsDue() throws Exception {
+        GlobalResponse polled = createMockResponse();
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(polled));
+
+        try (Session session = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "Should have received a message on connect");
+
+            GlobalResponse next = withBlocks(polled, polled.upTime() + 5, 870000);
+            SNAPSHOTS.onNext(new DashboardSnapshot(next, DashboardTopic.ALL));
+            assertNull(MESSAGES.poll(500, TimeUnit.MILLISECONDS), "Only the uptime changed");
+
+            GlobalResponse newBlock = withBlocks(polled, polled.upTime() + 10, 870001);
+            SNAPSHOTS.onNext(new DashboardSnapshot(newBlock, DashboardTopic.ALL));
+            String message = MESSAGES.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "A new block should be broadcast");
+            assertEquals(432010L, OBJECT_MAPPER.readTree(message).get("upTime").asLong());
+        }
+    }
+
+    private static GlobalResponse withBlocks(GlobalResponse polled, long upTime, int blocks) {
+        BlockchainInfoView info = polled.blockchainInfoResponse();
+        BlockchainInfoView blockchainInfo = new BlockchainInfoView(info.chain(), blocks, blocks, info.difficulty(),
+                info.time(), info.mediantime(), info.verificationprogress(), info.initialblockdownload(),
+                info.chainwork(), info.sizeOnDisk());
+        return new GlobalResponse(polled.generalStats(), polled.subverDistribution(), polled.inboundPeer(),
+                polled.outboundPeer(), blockchainInfo, polled.nodeInfo(), upTime, polled.block(), polled.mempoolInfo(),
+                polled.errors());
+    }
+
+    @Test
+    void testDeltaMode_sendsSnapshotOnConnectAndOnResync() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session session = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, deltaUri)) {
+            JsonNode snapshot = OBJECT_MAPPER.readTree(MESSAGES.poll(5, TimeUnit.SECONDS));
+            assertEquals("snapshot", snapshot.get("type").asText());
+            assertTrue(snapshot.get("seq").asLong() > 0, "Snapshot should carry a sequence number");
+            assertEquals("main", snapshot.get("data").get("blockchainInfoResponse").get("chain").asText());
+
+            MESSAGES.clear();
+            session.getBasicRemote().sendText("{\"type\":\"resync\"}");
+            JsonNode resync = OBJECT_MAPPER.readTree(MESSAGES.poll(5, TimeUnit.SECONDS));
+            assertEquals("snapshot", resync.get("type").asText());
+            assertTrue(resync.get("seq").asLong() >= snapshot.get("seq").asLong());
+        }
+    }
+
+    @Test
+    void testDeflate_sendsCompressedBinaryFrames() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session session = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, deflateUri)) {
+            String message = MESSAGES.poll(5, TimeUnit.SECONDS);
+
+            assertNotNull(message, "Should have received a compressed message on connect");
+            assertTrue(message.contains("\"chain\":\"main\""), "Inflated message should contain blockchain info");
+        }
+    }
+
+    @Test
+    void testCborSubprotocol_sendsCborFrames() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session session = ContainerProvider.getWebSocketContainer().connectToServer(CborClient.class, uri)) {
+            String message = MESSAGES.poll(5, TimeUnit.SECONDS);
+
+            assertNotNull(message, "Should have received a CBOR message on connect");
+            assertEquals("main", OBJECT_MAPPER.readTree(message).get("blockchainInfoResponse").get("chain").asText());
+        }
+    }
+
+    @Test
+    void testSubscribe_sendsOnlyTheSubscribedTopics() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+        when(rpcServices.getData(anySet())).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session session = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, uri)) {
+            assertNotNull(MESSAGES.poll(5, TimeUnit.SECONDS), "Should have received the whole dashboard on connect");
+
+            MESSAGES.clear();
+            session.getBasicRemote().sendText("{\"type\":\"subscribe\",\"topics\":[\"uptime\",\"unknown\"]}");
+            JsonNode message = OBJECT_MAPPER.readTree(MESSAGES.poll(5, TimeUnit.SECONDS));
+
+            assertEquals(432000L, message.get("upTime").asLong());
+            assertEquals(2, message.size(), "Only the subscribed topic and the errors should be sent");
+            assertTrue(message.has("errors"));
+        }
+    }
+
+    @Test
+    void testSubscribe_doesNotBecomeTheSnapshotOfTheNode() throws Exception {
+        when(rpcServices.getData()).thenReturn(Uni.createFrom().item(createMockResponse()));
+        when(rpcServices.getData(anySet())).thenReturn(Uni.createFrom().item(createMockResponse()));
+
+        try (Session session = ContainerProvider.getWebSocketContainer().connectToServer(Client.class, deltaUri)) {
+            JsonNode snapshot = OBJECT_MAPPER.readTree(MESSAGES.poll(5, TimeUnit.SECONDS));
+
+            session.getBasicRemote().sendText("{\"type\":\"subscribe\",\"topics\":[\"uptime\"]}");
+            JsonNode subscribed = OBJECT_MAPPER.readTree(MESSAGES.poll(5, TimeUnit.SECONDS));
+            assertEquals(0L, subscribed.get("seq").asLong(), "Data fetched for one session is out of the sequence");
+
+            session.getBasicRemote().sendText("{\"type\":\"subscribe\",\"topics\":[]}");
+            JsonNode all = OBJECT_MAPPER.readTree(MESSAGES.poll(5, TimeUnit.SECONDS));
+            assertEquals("snapshot", all.get("type").asText());
+            assertEquals(snapshot.get("seq").asLong(), all.get("seq").asLong(),
+                    "The snapshot of the node should not have been replaced");
+        }
+    }
+
     // A simple client endpoint for the test
     @ClientEndpoint
     public static class Client {
@@ -76,6 +302,26 @@ class DashboardWebSocketTest {
         void message(String msg) {
             MESSAGES.add(msg);
         }
+
+        @OnMessage
+        void message(ByteBuffer deflated) throws IOException {
+            byte[] bytes = new byte[deflated.remaining()];
+            deflated.get(bytes);
+            try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes), new Inflater(true))) {
+                MESSAGES.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    // A client negotiating the CBOR subprotocol, which records the messages as JSON
+    @ClientEndpoint(subprotocols = "dashboard.cbor")
+    public static class CborClient {
+        @OnMessage
+        void message(ByteBuffer cbor) throws IOException {
+            byte[] bytes = new byte[cbor.remaining()];
+            cbor.get(bytes);
+            MESSAGES.add(OBJECT_MAPPER.writeValueAsString(new CBORMapper().readTree(bytes)));
+        }
     }
 
     private GlobalResponse createMockResponse() {
@@ -0,0 +1,146 @@
+package comasky;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import comasky.client.RpcClient;
+import comasky.client.RpcRequestDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Replies of a fake Bitcoin Core node, for tests stubbing {@link comasky.client.RpcClient}.
+ * <p>
+ * Each method answers with the result registered for it, computed on every call so tests can change it between
+ * refreshes; methods without a result get the node's "Method not found" error.
+ */
+final class NodeReplies {
+
+    static final String TIP_HASH = "00000000000000000001abc";
+
+    private static final int METHOD_NOT_FOUND = -32601;
+    private static final TypeReference<List<RpcRequestDto>> BATCH_REQUEST_TYPE = new TypeReference<>() {};
+
+    /**
+     * Answers a batch of decoded requests.
+     */
+    @FunctionalInterface
+    interface BatchCall {
+        byte[] execute(List<RpcRequestDto> requests) throws Exception;
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Function<RpcRequestDto, ObjectNode>> replies = new ConcurrentHashMap<>();
+
+    private NodeReplies(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the replies of a node answering every call of the dashboard (the mempool is disabled in tests)
+     */
+    static NodeReplies healthy(ObjectMapper objectMapper) {
+        return new NodeReplies(objectMapper)
+                .with("getpeerinfo", List.of())
+                .with("getblockchaininfo", Map.of("chain", "main"))
+                .with("getnetworkinfo", Map.of("version", 270000, "subversion", "/Satoshi:27.0.0/"))
+                .with("uptime", 432000L)
+                .with("getbestblockhash", TIP_HASH)
+                .with("getblockheader", request -> Map.of("hash", request.params().getFirst(), "nTx", 10));
+    }
+
+    /**
+     * @return the replies of a node answering only the given methods
+     */
+    static NodeReplies of(ObjectMapper objectMapper, Map<String, Object> results) {
+        NodeReplies node = new NodeReplies(objectMapper);
+        results.forEach(node::with);
+        return node;
+    }
+
+    /**
+     * Answers the requests a mocked client receives already encoded: a single request is decoded and forwarded to
+     * {@link RpcClient#executeRpcCall}, so tests stub and verify single calls in one place whether or not the
+     * request was encoded ahead; batches fail the test.
+     */
+    static void forwardEncodedCalls(RpcClient rpcClient, ObjectMapper objectMapper) {
+        forwardEncodedCalls(rpcClient, objectMapper, requests -> {
+            throw new AssertionError("Unexpected batch " + requests);
+        });
+    }
+
+    /**
+     * Like {@link #forwardEncodedCalls(RpcClient, ObjectMapper)}, with batches answered by {@code batch}.
+     */
+    static void forwardEncodedCalls(RpcClient rpcClient, ObjectMapper objectMapper, BatchCall batch) {
+        // doAnswer does not call the mock, so a test can replace the batch answer of a previous call
+        doAnswer(invocation -> {
+            JsonNode requests = objectMapper.readTree(invocation.<byte[]>getArgument(0));
+            if (requests.isArray()) {
+                return batch.execute(objectMapper.convertValue(requests, BATCH_REQUEST_TYPE));
+            }
+            return rpcClient.executeRpcCall(objectMapper.treeToValue(requests, RpcRequestDto.class));
+        }).when(rpcClient).executeEncodedRpcCall(any(byte[].class));
+    }
+
+    NodeReplies with(String method, Object result) {
+        return with(method, _ -> result);
+    }
+
+    NodeReplies with(String method, Function<RpcRequestDto, ?> result) {
+        replies.put(method, request -> success(request, result.apply(request)));
+        return this;
+    }
+
+    NodeReplies failing(String method, int code, String message) {
+        replies.put(method, request -> error(request, code, message));
+        return this;
+    }
+
+    /**
+     * @return the JSON reply to a single call
+     */
+    byte[] reply(RpcRequestDto request) throws Exception {
+        return objectMapper.writeValueAsBytes(replyNode(request));
+    }
+
+    /**
+     * @return the JSON reply to a batch, in reverse order to make sure routing relies on ids, not positions
+     */
+    byte[] batchReply(List<RpcRequestDto> requests) throws Exception {
+        ArrayNode array = objectMapper.createArrayNode();
+        for (int i = requests.size() - 1; i >= 0; i--) {
+            array.add(replyNode(requests.get(i)));
+        }
+        return objectMapper.writeValueAsBytes(array);
+    }
+
+    private ObjectNode replyNode(RpcRequestDto request) {
+        Function<RpcRequestDto, ObjectNode> reply = replies.get(request.method());
+        return reply != null ? reply.apply(request) : error(request, METHOD_NOT_FOUND, "Method not found");
+    }
+
+    private ObjectNode success(RpcRequestDto request, Object result) {
+        ObjectNode reply = objectMapper.createObjectNode();
+        reply.set("result", objectMapper.valueToTree(result));
+        reply.putNull("error");
+        reply.put("id", request.id());
+        return reply;
+    }
+
+    private ObjectNode error(RpcRequestDto request, int code, String message) {
+        ObjectNode reply = objectMapper.createObjectNode();
+        reply.putNull("result");
+        reply.putObject("error").put("code", code).put("message", message);
+        reply.put("id", request.id());
+        return reply;
+    }
+}
@@ -1,13 +1,16 @@
 package comasky;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.AsyncRpcClient;
 import comasky.client.RpcClient;
 import comasky.client.RpcRequestDto;
+import comasky.config.DashboardConfig;
 import comasky.exceptions.RpcException;
 import comasky.rpcClass.RpcError;
 import comasky.rpcClass.RpcResponse;
 import comasky.rpcClass.RpcServices;
 import comasky.rpcClass.dto.GlobalResponse;
+import comasky.rpcClass.responses.BlockHeaderResponse;
 import comasky.rpcClass.responses.BlockInfoResponse;
 import comasky.rpcClass.responses.BlockchainInfoResponse;
 import comasky.rpcClass.responses.MempoolInfoResponse;
@@ -15,18 +18,24 @@ import comasky.rpcClass.responses.PeerInfoResponse;
 import comasky.service.CacheProvider;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -44,26 +53,30 @@ class RpcServicesAdvancedTest {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    DashboardConfig dashboardConfig;
+
     @BeforeEach
     void setup() {
         // Invalidate cache before each test to ensure isolation
         cacheProvider.invalidateAll();
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper);
     }
 
     // Helper to create a successful RpcResponse JSON string
-    private <T> String createSuccessRpcResponseJson(T result) throws Exception {
+    private <T> byte[] createSuccessRpcResponseJson(T result) throws Exception {
         RpcResponse<T> response = new RpcResponse<>();
         response.setResult(result);
         response.setId("1.0");
-        return objectMapper.writeValueAsString(response);
+        return objectMapper.writeValueAsBytes(response);
     }
 
     // Helper to create an error RpcResponse JSON string
-    private String createErrorRpcResponseJson(RpcError error) throws Exception {
+    private byte[] createErrorRpcResponseJson(RpcError error) throws Exception {
         RpcResponse<Object> response = new RpcResponse<>();
         response.setError(error);
         response.setId("1.0");
-        return objectMapper.writeValueAsString(response);
+        return objectMapper.writeValueAsBytes(response);
     }
 
     // Helper to extract the RPC method name
@@ -73,9 +86,9 @@ class RpcServicesAdvancedTest {
 
     // Helper to set up common RPC client mocks
     private void setupRpcClientMock(Map<String, Object> responses) {
-        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(new Answer<String>() {
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(new Answer<byte[]>() {
             @Override
-            public String answer(InvocationOnMock invocation) throws Throwable {
+            public byte[] answer(InvocationOnMock invocation) throws Throwable {
                 RpcRequestDto request = invocation.getArgument(0);
                 String method = extractMethodName(request);
                 if (method == null) {
@@ -149,8 +162,8 @@ class RpcServicesAdvancedTest {
             ),
             "uptime", 432000L,
             "getbestblockhash", "00000000000000000001abc", // This is a String object, will be wrapped
-            "getblock", new BlockInfoResponse(
-                "00000000000000000001abc", 1, 0, 0, 0, 870000, 1, "", "", 1733443200L, 0L, 0L, "", 1.0, "", 2500, "", ""
+            "getblockheader", new BlockHeaderResponse(
+                "00000000000000000001abc", 1, 870000, 1, "", "", 1733443200L, 0L, 0L, "", 1.0, "", 2500, null, null
             ),
             "getmempoolinfo", new MempoolInfoResponse(true, 0, 0L, 0L, 0L, 0.0, 0.0, 0, 0.0)
         );
@@ -189,8 +202,8 @@ class RpcServicesAdvancedTest {
             ),
             "uptime", 432000L,
             "getbestblockhash", "00000000000000000001abc",
-            "getblock", new BlockInfoResponse(
-                "00000000000000000001abc", 1, 0, 0, 0, 870000, 1, "", "", 1733443200L, 0L, 0L, "", 1.0, "", 2500, "", ""
+            "getblockheader", new BlockHeaderResponse(
+                "00000000000000000001abc", 1, 870000, 1, "", "", 1733443200L, 0L, 0L, "", 1.0, "", 2500, null, null
             ),
             "getmempoolinfo", new MempoolInfoResponse(true, 0, 0L, 0L, 0L, 0.0, 0.0, 0, 0.0)
         );
@@ -258,7 +271,7 @@ class RpcServicesAdvancedTest {
     @Test
     void testJsonParsingError_invalidResponse() {
         // Simulate a parsing error by returning an invalid JSON string
-        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenReturn("this is not valid json");
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenReturn("this is not valid json".getBytes(StandardCharsets.UTF_8));
         RpcException exception = assertThrows(RpcException.class, () -> rpcServices.getNetworkInfo().await().indefinitely());
         assertTrue(exception.getMessage().contains("Connection failed for method getnetworkinfo: Unrecognized token 'this'"));
     }
@@ -269,7 +282,7 @@ class RpcServicesAdvancedTest {
         when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
             RpcRequestDto request = invocation.getArgument(0);
             if ("getpeerinfo".equals(request.method())) {
-                return "not valid json";
+                return "not valid json".getBytes(StandardCharsets.UTF_8);
             }
             // For other methods, return a compatible simple type (e.g., Long or String)
             if ("uptime".equals(request.method())) {
@@ -297,7 +310,7 @@ class RpcServicesAdvancedTest {
 
     @Test
     void testGetData_rpcErrorInPeerInfo() throws Exception {
-        String mockPeerInfoResponse = createErrorRpcResponseJson(new RpcError(-1, "Peer info unavailable"));
+        byte[] mockPeerInfoResponse = createErrorRpcResponseJson(new RpcError(-1, "Peer info unavailable"));
         when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
             RpcRequestDto request = invocation.getArgument(0);
             if ("getpeerinfo".equals(request.method())) {
@@ -340,4 +353,29 @@ class RpcServicesAdvancedTest {
         assertTrue(exception.getMessage().contains("Connection failed"));
         assertTrue(exception.getCause().getMessage().contains("timeout"));
     }
+
+    @Test
+    void testNonBlockingClient_usesAsyncCall() throws Exception {
+        AsyncRpcClient asyncClient = mock(AsyncRpcClient.class);
+        when(asyncClient.executeEncodedRpcCallAsync(any(Buffer.class)))
+                .thenReturn(Uni.createFrom().item(Buffer.buffer(createSuccessRpcResponseJson(432000L))));
+
+        Long uptime = RpcServices.forNode(objectMapper, asyncClient, dashboardConfig, cacheProvider)
+                .getUptimeSeconds().await().indefinitely();
+
+        assertEquals(432000L, uptime);
+        verify(asyncClient, never()).executeRpcCall(any(RpcRequestDto.class));
+    }
+
+    @Test
+    void testNonBlockingClient_failureIsWrapped() {
+        AsyncRpcClient asyncClient = mock(AsyncRpcClient.class);
+        when(asyncClient.executeEncodedRpcCallAsync(any(Buffer.class)))
+                .thenReturn(Uni.createFrom().failure(new RuntimeException("Connection refused")));
+        RpcServices asyncServices = RpcServices.forNode(objectMapper, asyncClient, dashboardConfig, cacheProvider);
+
+        RpcException exception = assertThrows(RpcException.class, () -> asyncServices.getUptimeSeconds().await().indefinitely());
+        assertTrue(exception.getMessage().contains("Connection failed for method uptime"));
+        assertTrue(exception.getCause().getMessage().contains("Connection refused"));
+    }
 }
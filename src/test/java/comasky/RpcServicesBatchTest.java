@@ -0,0 +1,183 @@
+package comasky;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.AsyncRpcClient;
+import comasky.client.RpcClient;
+import comasky.client.RpcRequestDto;
+import comasky.config.DashboardConfig;
+import comasky.rpcClass.RpcServices;
+import comasky.rpcClass.dto.GlobalResponse;
+import comasky.service.CacheProvider;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+@TestProfile(RpcServicesBatchTest.BatchProfile.class)
+class RpcServicesBatchTest {
+
+    private static final TypeReference<List<RpcRequestDto>> BATCH_REQUEST_TYPE = new TypeReference<>() {};
+
+    public static class BatchProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("dashboard.rpc.batch", "true");
+        }
+    }
+
+    @InjectMock
+    RpcClient rpcClient;
+
+    @Inject
+    RpcServices rpcServices;
+
+    @Inject
+    CacheProvider cacheProvider;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    DashboardConfig dashboardConfig;
+
+    @BeforeEach
+    void setup() {
+        cacheProvider.invalidateAll();
+        rpcServices.invalidateSections();
+    }
+
+    private void answerBatch(Map<String, Object> results) {
+        NodeReplies node = NodeReplies.of(objectMapper, results);
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper, node::batchReply);
+    }
+
+    @Test
+    void testGetData_sendsIndependentCallsInOneBatch() throws Exception {
+        answerBatch(Map.of(
+                "getpeerinfo", List.of(),
+                "getblockchaininfo", Map.of("chain", "main", "blocks", 870000),
+                "getnetworkinfo", Map.of("version", 270000, "subversion", "/Satoshi:27.0.0/"),
+                "uptime", 432000L,
+                "getbestblockhash", "00000000000000000001abc"
+        ));
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class)))
+                .thenReturn("{\"result\": {\"time\": 12345, \"nTx\": 10}, \"error\": null, \"id\": \"quarkus-getblockheader\"}".getBytes(StandardCharsets.UTF_8));
+
+        GlobalResponse response = rpcServices.getData().await().indefinitely();
+
+        assertNotNull(response);
+        assertEquals("main", response.blockchainInfoResponse().chain());
+        assertEquals(270000, response.nodeInfo().version());
+        assertEquals(432000L, response.upTime());
+        assertEquals(10, response.block().nTx());
+        assertTrue(response.errors().isEmpty(), "No call should have failed: " + response.errors());
+
+        verify(rpcClient, times(1)).executeEncodedRpcCall(argThat(body -> body[0] == '['));
+        // Only the dependent getblockheader call goes through its own request
+        verify(rpcClient, times(1)).executeRpcCall(any(RpcRequestDto.class));
+    }
+
+    @Test
+    void testGetData_recordsPerCallErrorsFromBatch() throws Exception {
+        answerBatch(Map.of(
+                "getpeerinfo", List.of(),
+                "getblockchaininfo", Map.of("chain", "main", "blocks", 870000),
+                "uptime", 432000L
+        ));
+
+        GlobalResponse response = rpcServices.getData().await().indefinitely();
+
+        assertNotNull(response);
+        assertEquals("main", response.blockchainInfoResponse().chain());
+        assertNull(response.nodeInfo());
+        assertNull(response.block());
+        assertTrue(response.errors().containsKey("networkInfo"));
+        assertTrue(response.errors().get("networkInfo").contains("Method not found"));
+        assertTrue(response.errors().containsKey("bestBlockHash"));
+        assertFalse(response.errors().containsKey("blockchainInfo"));
+        verify(rpcClient, never()).executeRpcCall(any(RpcRequestDto.class));
+    }
+
+    @Test
+    void testGetData_batchTransportFailureMarksEveryCall() {
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper, _ -> {
+            throw new RuntimeException("Connection refused");
+        });
+
+        GlobalResponse response = rpcServices.getData().await().indefinitely();
+
+        assertNotNull(response);
+        assertEquals(0, response.generalStats().totalPeers());
+        for (String call : List.of("peerInfo", "blockchainInfo", "networkInfo", "uptime", "bestBlockHash")) {
+            assertTrue(response.errors().containsKey(call), "Missing error for " + call);
+        }
+    }
+
+    @Test
+    void testGetData_retriesTheBatchAfterATransportFailure() {
+        final NodeReplies node = NodeReplies.of(objectMapper, Map.of(
+                "getpeerinfo", List.of(),
+                "getblockchaininfo", Map.of("chain", "main", "blocks", 870000),
+                "getnetworkinfo", Map.of("version", 270000, "subversion", "/Satoshi:27.0.0/"),
+                "uptime", 432000L
+        ));
+        final AtomicInteger attempts = new AtomicInteger();
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper, requests -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new RuntimeException("Connection reset");
+            }
+            return node.batchReply(requests);
+        });
+
+        GlobalResponse response = rpcServices.getData().await().indefinitely();
+
+        assertEquals("main", response.blockchainInfoResponse().chain());
+        assertEquals(432000L, response.upTime());
+        assertFalse(response.errors().containsKey("uptime"), "The failed batch should be sent again: " + response.errors());
+        assertTrue(attempts.get() >= 2);
+    }
+
+    @Test
+    void testGetData_nonBlockingClientSendsPreEncodedBatch() throws Exception {
+        NodeReplies node = NodeReplies.healthy(objectMapper);
+        AsyncRpcClient asyncClient = mock(AsyncRpcClient.class);
+        when(asyncClient.executeEncodedRpcCallAsync(any(Buffer.class))).thenAnswer(invocation -> {
+            JsonNode requests = objectMapper.readTree(invocation.<Buffer>getArgument(0).getBytes());
+            if (requests.isArray()) {
+                return Uni.createFrom().item(Buffer.buffer(
+                        node.batchReply(objectMapper.convertValue(requests, BATCH_REQUEST_TYPE))));
+            }
+            RpcRequestDto request = objectMapper.treeToValue(requests, RpcRequestDto.class);
+            assertEquals("getblockheader", request.method());
+            assertEquals(NodeReplies.TIP_HASH, request.params().getFirst());
+            return Uni.createFrom().item(Buffer.buffer(node.reply(request)));
+        });
+
+        GlobalResponse response = RpcServices.forNode(objectMapper, asyncClient, dashboardConfig, cacheProvider)
+                .getData().await().indefinitely();
+
+        assertEquals(432000L, response.upTime());
+        assertEquals(10, response.block().nTx());
+        assertTrue(response.errors().isEmpty(), "No call should have failed: " + response.errors());
+        verify(asyncClient, times(2)).executeEncodedRpcCallAsync(any(Buffer.class));
+        verify(asyncClient, never()).executeEncodedRpcCall(any(byte[].class));
+    }
+}
@@ -0,0 +1,106 @@
+package comasky;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.RpcClient;
+import comasky.client.RpcRequestDto;
+import comasky.rpcClass.RpcServices;
+import comasky.rpcClass.dto.GlobalResponse;
+import comasky.service.CacheProvider;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@TestProfile(RpcServicesDeadlineTest.ShortDeadlineProfile.class)
+class RpcServicesDeadlineTest {
+
+    private static final long SLOW_REPLY_MS = 1500;
+
+    public static class ShortDeadlineProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // 1s polling with a 950ms buffer: 0s sections are kept for 100ms
+            return Map.of(
+                    "dashboard.rpc.deadline.network.ms", "200",
+                    "dashboard.rpc.deadline.budget.ms", "1000",
+                    "dashboard.polling.interval.seconds", "1",
+                    "dashboard.cache.validity.buffer.ms", "950"
+            );
+        }
+    }
+
+    @InjectMock
+    RpcClient rpcClient;
+
+    @Inject
+    RpcServices rpcServices;
+
+    @Inject
+    CacheProvider cacheProvider;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private volatile boolean slowNetworkInfo;
+    private volatile int version;
+
+    @BeforeEach
+    void setup() {
+        cacheProvider.invalidateAll();
+        rpcServices.invalidateSections();
+        slowNetworkInfo = false;
+        version = 270000;
+        NodeReplies node = NodeReplies.healthy(objectMapper)
+                .with("getnetworkinfo", _ -> Map.of("version", version, "subversion", "/Satoshi:27.0.0/"));
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper);
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
+            RpcRequestDto request = invocation.getArgument(0);
+            if (slowNetworkInfo && request.method().equals("getnetworkinfo")) {
+                Thread.sleep(SLOW_REPLY_MS);
+            }
+            return node.reply(request);
+        });
+    }
+
+    @Test
+    void testGetData_servesTheLastResultOfALateSection() throws InterruptedException {
+        GlobalResponse first = rpcServices.getData().await().indefinitely();
+        assertEquals(270000, first.nodeInfo().version());
+
+        slowNetworkInfo = true;
+        version = 280000;
+        // Next refresh: the sections have expired but keep their last results
+        Thread.sleep(150);
+        cacheProvider.invalidateRpcData();
+        long start = System.nanoTime();
+        GlobalResponse late = rpcServices.getData().await().indefinitely();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < SLOW_REPLY_MS, "The refresh should not wait for the late call: " + elapsedMs + " ms");
+        assertEquals(270000, late.nodeInfo().version(), "The last network info should be served");
+        assertTrue(late.errors().containsKey("networkInfo"), "The late section should be flagged");
+        assertEquals(432000L, late.upTime());
+        assertNotNull(late.block());
+    }
+
+    @Test
+    void testGetData_lateSectionWithoutLastResultIsAnError() {
+        slowNetworkInfo = true;
+
+        GlobalResponse late = rpcServices.getData().await().indefinitely();
+
+        assertNull(late.nodeInfo());
+        assertTrue(late.errors().containsKey("networkInfo"));
+        assertEquals(432000L, late.upTime());
+    }
+}
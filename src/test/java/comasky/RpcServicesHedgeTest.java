@@ -0,0 +1,127 @@
+package comasky;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.RpcClient;
+import comasky.client.RpcRequestDto;
+import comasky.rpcClass.RpcServices;
+import comasky.service.CacheProvider;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@TestProfile(RpcServicesHedgeTest.HedgeProfile.class)
+class RpcServicesHedgeTest {
+
+    // More than the samples needed before a call is hedged
+    private static final int WARM_UP_CALLS = 20;
+    private static final long SLOW_BATCH_MS = 300;
+
+    public static class HedgeProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "dashboard.rpc.hedge", "true",
+                    "dashboard.rpc.batch", "true"
+            );
+        }
+    }
+
+    @InjectMock
+    RpcClient rpcClient;
+
+    @Inject
+    RpcServices rpcServices;
+
+    @Inject
+    CacheProvider cacheProvider;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final List<String> singleCalls = new CopyOnWriteArrayList<>();
+    private NodeReplies node;
+
+    @BeforeEach
+    void setup() {
+        cacheProvider.invalidateAll();
+        rpcServices.invalidateSections();
+        singleCalls.clear();
+        node = NodeReplies.healthy(objectMapper);
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper, node::batchReply);
+    }
+
+    @Test
+    void testGetUptimeSeconds_sendsAHedgedRequestWhenTheCallIsLate() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
+            RpcRequestDto request = invocation.getArgument(0);
+            singleCalls.add(request.method());
+            return node.reply(request);
+        });
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            rpcServices.invalidateSections();
+            rpcServices.getUptimeSeconds().await().indefinitely();
+        }
+        singleCalls.clear();
+
+        // The first request hangs, the hedged one replies right away
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
+            RpcRequestDto request = invocation.getArgument(0);
+            singleCalls.add(request.method());
+            if (singleCalls.size() == 1) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return node.reply(request);
+        });
+        try {
+            rpcServices.invalidateSections();
+            Long uptime = rpcServices.getUptimeSeconds().await().atMost(Duration.ofSeconds(2));
+
+            assertEquals(432000L, uptime);
+            assertEquals(List.of("uptime", "uptime"), singleCalls, "The late call should have been hedged once");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testGetData_doesNotHedgeBatchedCalls() throws Exception {
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
+            RpcRequestDto request = invocation.getArgument(0);
+            singleCalls.add(request.method());
+            return node.reply(request);
+        });
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            cacheProvider.invalidateAll();
+            rpcServices.invalidateSections();
+            rpcServices.getData().await().indefinitely();
+        }
+        singleCalls.clear();
+
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper, requests -> {
+            Thread.sleep(SLOW_BATCH_MS);
+            return node.batchReply(requests);
+        });
+        cacheProvider.invalidateAll();
+        rpcServices.invalidateSections();
+        rpcServices.getData().await().indefinitely();
+
+        assertEquals(List.of("getblockheader"), singleCalls, "Only the tip header goes outside the batch");
+    }
+}
@@ -0,0 +1,108 @@
+package comasky;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.RpcClient;
+import comasky.client.RpcRequestDto;
+import comasky.rpcClass.DashboardSnapshot;
+import comasky.rpcClass.DashboardTopic;
+import comasky.rpcClass.RpcServices;
+import comasky.rpcClass.dto.GlobalResponse;
+import comasky.service.CacheProvider;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.subscription.Cancellable;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@TestProfile(RpcServicesProgressiveTest.ProgressiveProfile.class)
+class RpcServicesProgressiveTest {
+
+    private static final long SLOW_UPTIME_MS = 300;
+
+    public static class ProgressiveProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // The poller, whose first run follows startup, must not publish snapshots while the test counts them
+            return Map.of(
+                    "dashboard.polling.progressive", "true",
+                    "quarkus.scheduler.enabled", "false"
+            );
+        }
+    }
+
+    @InjectMock
+    RpcClient rpcClient;
+
+    @Inject
+    RpcServices rpcServices;
+
+    @Inject
+    CacheProvider cacheProvider;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private volatile long uptime;
+
+    @BeforeEach
+    void setup() {
+        cacheProvider.invalidateAll();
+        rpcServices.invalidateSections();
+        uptime = 7200L;
+        NodeReplies node = NodeReplies.healthy(objectMapper).with("uptime", _ -> uptime);
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper);
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
+            RpcRequestDto request = invocation.getArgument(0);
+            if (request.method().equals("uptime")) {
+                // Completes after the other sections
+                Thread.sleep(SLOW_UPTIME_MS);
+            }
+            return node.reply(request);
+        });
+    }
+
+    @Test
+    void testGetData_publishesEachSectionMergedIntoTheLastSnapshot() {
+        List<DashboardSnapshot> snapshots = new CopyOnWriteArrayList<>();
+        Cancellable subscription = rpcServices.snapshots(() -> DashboardTopic.ALL).subscribe().with(snapshots::add);
+        try {
+            GlobalResponse first = rpcServices.getData().await().indefinitely();
+            assertEquals(1, snapshots.size(), "Without a previous snapshot, only the complete one is published");
+
+            snapshots.clear();
+            uptime = 7260L;
+            cacheProvider.invalidateAll();
+            rpcServices.invalidateSections();
+            GlobalResponse second = rpcServices.getData().await().indefinitely();
+
+            assertEquals(7, snapshots.size(), "One snapshot per section, then the complete one");
+            assertSame(second, snapshots.getLast().data());
+            assertFalse(snapshots.getLast().progressive(), "The complete snapshot is not progressive");
+            snapshots.stream().limit(6).forEach(snapshot -> assertTrue(snapshot.progressive()));
+            assertEquals(7260L, second.upTime());
+            snapshots.forEach(snapshot -> {
+                assertEquals(DashboardTopic.ALL, snapshot.topics());
+                assertNotNull(snapshot.data().nodeInfo(), "Sections not fetched yet come from the last snapshot");
+                assertNotNull(snapshot.data().block());
+            });
+            snapshots.stream().limit(5).forEach(snapshot -> assertEquals(first.upTime(), snapshot.data().upTime(),
+                    "The sections before uptime should carry the previous uptime"));
+            assertEquals(7260L, snapshots.get(5).data().upTime());
+            assertSame(second, rpcServices.getData().await().indefinitely(), "REST serves the complete response");
+        } finally {
+            subscription.cancel();
+        }
+    }
+}
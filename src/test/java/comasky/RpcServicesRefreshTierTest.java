@@ -0,0 +1,144 @@
+package comasky;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.RpcClient;
+import comasky.client.RpcRequestDto;
+import comasky.rpcClass.RpcServices;
+import comasky.rpcClass.dto.GlobalResponse;
+import comasky.service.CacheProvider;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@TestProfile(RpcServicesRefreshTierTest.SlowNetworkTierProfile.class)
+class RpcServicesRefreshTierTest {
+
+    public static class SlowNetworkTierProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // 1s polling with a 950ms buffer: cached data and 0s sections are kept for 100ms
+            return Map.of(
+                    "dashboard.refresh.network.seconds", "300",
+                    "dashboard.polling.interval.seconds", "1",
+                    "dashboard.cache.validity.buffer.ms", "950"
+            );
+        }
+    }
+
+    @InjectMock
+    RpcClient rpcClient;
+
+    @Inject
+    RpcServices rpcServices;
+
+    @Inject
+    CacheProvider cacheProvider;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private volatile String tipHash;
+
+    @BeforeEach
+    void setup() {
+        cacheProvider.invalidateAll();
+        rpcServices.invalidateSections();
+        calls.clear();
+        tipHash = NodeReplies.TIP_HASH;
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper);
+    }
+
+    private void answerCalls(boolean networkInfoFails) {
+        NodeReplies node = NodeReplies.healthy(objectMapper).with("getbestblockhash", _ -> tipHash);
+        if (networkInfoFails) {
+            node.failing("getnetworkinfo", -1, "Node busy");
+        }
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
+            RpcRequestDto request = invocation.getArgument(0);
+            calls.computeIfAbsent(request.method(), _ -> new AtomicInteger()).incrementAndGet();
+            return node.reply(request);
+        });
+    }
+
+    private int callCount(String method) {
+        AtomicInteger count = calls.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    @Test
+    void testGetData_reusesNetworkInfoWithinItsTier() throws InterruptedException {
+        answerCalls(false);
+
+        GlobalResponse first = rpcServices.getData().await().indefinitely();
+        Thread.sleep(150);
+        GlobalResponse second = rpcServices.getData().await().indefinitely();
+
+        assertEquals(270000, first.nodeInfo().version());
+        assertEquals(270000, second.nodeInfo().version());
+        assertEquals(1, callCount("getnetworkinfo"), "getnetworkinfo should not be refetched within its tier");
+        assertEquals(2, callCount("uptime"));
+        assertEquals(2, callCount("getpeerinfo"));
+    }
+
+    @Test
+    void testRestCalls_shareTheDashboardSections() {
+        answerCalls(false);
+
+        rpcServices.getData().await().indefinitely();
+        rpcServices.getUptimeSeconds().await().indefinitely();
+        rpcServices.getBestBlockHash().await().indefinitely();
+
+        assertEquals(1, callCount("uptime"));
+        assertEquals(1, callCount("getbestblockhash"));
+    }
+
+    @Test
+    void testGetData_refetchesBlockOnlyWhenTipChanges() {
+        answerCalls(false);
+
+        rpcServices.getData().await().indefinitely();
+        cacheProvider.invalidateAll();
+        GlobalResponse sameTip = rpcServices.getData().await().indefinitely();
+
+        assertEquals(2, callCount("getbestblockhash"));
+        assertEquals(1, callCount("getblockheader"));
+        assertEquals(10, sameTip.block().nTx());
+
+        // New block (or reorg): another hash at the tip
+        tipHash = "00000000000000000002def";
+        cacheProvider.invalidateAll();
+        GlobalResponse newTip = rpcServices.getData().await().indefinitely();
+
+        assertEquals(2, callCount("getblockheader"));
+        assertNotNull(newTip.block());
+        assertTrue(newTip.errors().isEmpty(), "No call should have failed: " + newTip.errors());
+    }
+
+    @Test
+    void testGetData_failedCallIsNotKept() {
+        answerCalls(true);
+        GlobalResponse failed = rpcServices.getData().await().indefinitely();
+        assertTrue(failed.errors().containsKey("networkInfo"));
+
+        answerCalls(false);
+        cacheProvider.invalidateAll();
+        GlobalResponse recovered = rpcServices.getData().await().indefinitely();
+
+        assertFalse(recovered.errors().containsKey("networkInfo"));
+        assertEquals(270000, recovered.nodeInfo().version());
+    }
+}
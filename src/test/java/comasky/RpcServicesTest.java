@@ -4,18 +4,29 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import comasky.client.RpcClient;
 import comasky.client.RpcRequestDto;
 import comasky.exceptions.RpcException;
+import comasky.rpcClass.DashboardSnapshot;
+import comasky.rpcClass.DashboardTopic;
 import comasky.rpcClass.RpcError;
 import comasky.rpcClass.RpcResponse;
 import comasky.rpcClass.RpcServices;
 import comasky.rpcClass.responses.BlockInfoResponse;
+import comasky.rpcClass.dto.GlobalResponse;
 import comasky.rpcClass.responses.BlockchainInfoResponse;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.subscription.Cancellable;
 import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -30,20 +41,26 @@ class RpcServicesTest {
     @Inject
     ObjectMapper objectMapper;
 
+    @BeforeEach
+    void setup() {
+        // REST calls share the dashboard's cache sections
+        rpcServices.invalidateSections();
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper);
+    }
     
-    private <T> String createSuccessRpcResponseJson(T result) throws Exception {
+    private <T> byte[] createSuccessRpcResponseJson(T result) throws Exception {
         RpcResponse<T> response = new RpcResponse<>();
         response.setResult(result);
         response.setId("1.0");
-        return objectMapper.writeValueAsString(response);
+        return objectMapper.writeValueAsBytes(response);
     }
 
     
-    private String createErrorRpcResponseJson(RpcError error) throws Exception {
+    private byte[] createErrorRpcResponseJson(RpcError error) throws Exception {
         RpcResponse<Object> response = new RpcResponse<>();
         response.setError(error);
         response.setId("1.0");
-        return objectMapper.writeValueAsString(response);
+        return objectMapper.writeValueAsBytes(response);
     }
 
     @Test
@@ -107,6 +124,41 @@ class RpcServicesTest {
         assertEquals(expectedUptime, uptime);
     }
 
+    @Test
+    void testGetData_onlyCallsTheRpcsOfTheRequestedTopics() throws Exception {
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenReturn(createSuccessRpcResponseJson(7200L));
+
+        GlobalResponse response = rpcServices.getData(Set.of(DashboardTopic.UPTIME))
+                .await().indefinitely();
+
+        assertEquals(7200L, response.upTime());
+        assertTrue(response.inboundPeer().isEmpty());
+        assertNull(response.blockchainInfoResponse());
+        assertTrue(response.errors().isEmpty(), "No call should have failed: " + response.errors());
+        verify(rpcClient, times(1)).executeRpcCall(any(RpcRequestDto.class));
+    }
+
+    @Test
+    void testPoll_publishesTheTopicsSubscribersNeed() throws Exception {
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenReturn(createSuccessRpcResponseJson(7200L));
+        List<DashboardSnapshot> snapshots = new CopyOnWriteArrayList<>();
+
+        Cancellable subscription = rpcServices.snapshots(() -> Set.of(DashboardTopic.UPTIME))
+                .subscribe().with(snapshots::add);
+        try {
+            assertTrue(rpcServices.hasSnapshotSubscribers());
+            GlobalResponse polled = rpcServices.poll().await().indefinitely();
+
+            assertEquals(1, snapshots.size(), "The polled snapshot should be published");
+            assertSame(polled, snapshots.getFirst().data());
+            assertEquals(7200L, polled.upTime());
+            assertEquals(Set.of(DashboardTopic.UPTIME), snapshots.getFirst().topics());
+            verify(rpcClient, times(1)).executeRpcCall(any(RpcRequestDto.class));
+        } finally {
+            subscription.cancel();
+        }
+    }
+
     @Test
     void testGetBlockInfo_success() throws Exception {
             BlockInfoResponse expectedBlockInfoResponse = new BlockInfoResponse(
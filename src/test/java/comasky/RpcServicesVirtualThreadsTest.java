@@ -0,0 +1,122 @@
+package comasky;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.RpcClient;
+import comasky.client.RpcRequestDto;
+import comasky.rpcClass.RpcServices;
+import comasky.rpcClass.dto.GlobalResponse;
+import comasky.service.CacheProvider;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@QuarkusTest
+@TestProfile(RpcServicesVirtualThreadsTest.VirtualThreadsProfile.class)
+class RpcServicesVirtualThreadsTest {
+
+    public static class VirtualThreadsProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "dashboard.rpc.virtual.threads", "true",
+                    "dashboard.rpc.deadline.budget.ms", String.valueOf(BUDGET_MS)
+            );
+        }
+    }
+
+    @InjectMock
+    RpcClient rpcClient;
+
+    @Inject
+    RpcServices rpcServices;
+
+    @Inject
+    CacheProvider cacheProvider;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    // Refresh budget of the profile
+    private static final long BUDGET_MS = 500;
+
+    private final Set<Boolean> virtualCallers = ConcurrentHashMap.newKeySet();
+    private volatile Duration peerInfoDelay;
+    private CountDownLatch interrupted;
+
+    @BeforeEach
+    void setup() {
+        cacheProvider.invalidateAll();
+        rpcServices.invalidateSections();
+        virtualCallers.clear();
+        peerInfoDelay = null;
+        interrupted = new CountDownLatch(1);
+        NodeReplies node = NodeReplies.healthy(objectMapper);
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper);
+        when(rpcClient.executeRpcCall(any(RpcRequestDto.class))).thenAnswer(invocation -> {
+            RpcRequestDto request = invocation.getArgument(0);
+            virtualCallers.add(Thread.currentThread().isVirtual());
+            if (peerInfoDelay != null && request.method().equals("getpeerinfo")) {
+                try {
+                    Thread.sleep(peerInfoDelay);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }
+            return node.reply(request);
+        });
+    }
+
+    @Test
+    void testGetData_callsOnVirtualThreads() {
+        GlobalResponse response = rpcServices.getData().await().indefinitely();
+        rpcServices.getBlockHeader("00000000000000000001abc").await().indefinitely();
+
+        assertEquals(270000, response.nodeInfo().version());
+        assertTrue(response.errors().isEmpty(), "No call should have failed: " + response.errors());
+        assertEquals(Set.of(true), virtualCallers);
+    }
+
+    @Test
+    void testGetData_interruptsTheCallsLeftWhenTheBudgetIsSpent() throws InterruptedException {
+        peerInfoDelay = Duration.ofMinutes(1);
+
+        GlobalResponse response = rpcServices.getData().await().atMost(Duration.ofSeconds(5));
+
+        assertTrue(response.errors().containsKey("peerInfo"));
+        assertEquals(432000L, response.upTime());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "The hanging call should be interrupted");
+    }
+
+    @Test
+    void testGetData_keepsTheCallRunningWhileALaterRefreshWaitsOnIt() throws Exception {
+        // Replies after the budget of the first refresh, within the budget of the second one
+        peerInfoDelay = Duration.ofMillis(BUDGET_MS + 100);
+
+        CompletableFuture<GlobalResponse> first = rpcServices.getData().subscribeAsCompletionStage();
+        Thread.sleep(BUDGET_MS / 2);
+        cacheProvider.invalidateRpcData();
+        GlobalResponse second = rpcServices.getData().await().atMost(Duration.ofSeconds(5));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).errors().containsKey("peerInfo"));
+        assertFalse(second.errors().containsKey("peerInfo"), "The call joined by the second refresh should reply: "
+                + second.errors());
+        assertEquals(1, interrupted.getCount(), "The call should not have been interrupted");
+    }
+}
@@ -41,13 +41,14 @@ class SubverStatsCalculationTest {
     void setup() {
         // Invalidate cache before each test to ensure isolation
         cacheProvider.invalidateAll();
+        NodeReplies.forwardEncodedCalls(rpcClient, objectMapper);
     }
 
-    private <T> String createSuccessRpcResponseJson(T result) throws Exception {
+    private <T> byte[] createSuccessRpcResponseJson(T result) throws Exception {
         RpcResponse<T> response = new RpcResponse<>();
         response.setResult(result);
         response.setId("1.0");
-        return objectMapper.writeValueAsString(response);
+        return objectMapper.writeValueAsBytes(response);
     }
 
     private PeerInfoResponse createPeerInfo(String id, String addr, boolean inbound, String subver, int version) {
@@ -218,8 +219,8 @@ class SubverStatsCalculationTest {
         assertEquals(33.33, v27.percentage(), 0.01);
     }
 
-    private void mockAllRpcCalls(String peerInfoResponse) throws Exception {
-        String mockBlockchainResponse = createSuccessRpcResponseJson(new BlockchainInfoResponse(
+    private void mockAllRpcCalls(byte[] peerInfoResponse) throws Exception {
+        byte[] mockBlockchainResponse = createSuccessRpcResponseJson(new BlockchainInfoResponse(
             "main", // chain
             870000,  // blocks
             870000,  // headers
@@ -234,7 +235,7 @@ class SubverStatsCalculationTest {
             false,   // pruned
             null     // pruneheight
         ));
-        String mockNodeInfoResponse = createSuccessRpcResponseJson(new NetworkInfoResponse(
+        byte[] mockNodeInfoResponse = createSuccessRpcResponseJson(new NetworkInfoResponse(
             70016, // version
             "/Satoshi:27.0.0/", // subversion
             270000, // protocolversion
@@ -247,12 +248,12 @@ class SubverStatsCalculationTest {
             java.util.Collections.emptyList(), // networks
             java.util.Collections.emptyList() // localaddresses
         ));
-        String mockUptimeResponse = createSuccessRpcResponseJson(432000L);
-        String mockBestBlockHashResponse = createSuccessRpcResponseJson("00000000000000000001abc");
-        String mockBlockInfoResponse = createSuccessRpcResponseJson(new BlockInfoResponse(
+        byte[] mockUptimeResponse = createSuccessRpcResponseJson(432000L);
+        byte[] mockBestBlockHashResponse = createSuccessRpcResponseJson("00000000000000000001abc");
+        byte[] mockBlockInfoResponse = createSuccessRpcResponseJson(new BlockInfoResponse(
                 "00000000000000000001abc", 1, 0, 0, 0, 870000, 1, "", "", 1733443200L, 0L, 0L, "", 1.0, "", 2500, "", ""
         ));
-        String mockMempoolInfoResponse = createSuccessRpcResponseJson(new MempoolInfoResponse(
+        byte[] mockMempoolInfoResponse = createSuccessRpcResponseJson(new MempoolInfoResponse(
                 true, 0, 0L, 0L, 0L, 0.0, 0.0, 0, 0.0
         ));
 
@@ -271,7 +272,7 @@ class SubverStatsCalculationTest {
                     return mockUptimeResponse;
                 case "getbestblockhash":
                     return mockBestBlockHashResponse;
-                case "getblock":
+                case "getblockheader":
                     return mockBlockInfoResponse;
                 case "getmempoolinfo":
                     return mockMempoolInfoResponse;
@@ -0,0 +1,248 @@
+package comasky.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import comasky.rpcClass.DashboardTopic;
+import comasky.rpcClass.dto.GeneralStats;
+import comasky.rpcClass.dto.GlobalResponse;
+import comasky.rpcClass.dto.SubverDistribution;
+import comasky.rpcClass.dto.SubverStats;
+import comasky.rpcClass.view.BlockInfoView;
+import comasky.rpcClass.view.BlockchainInfoView;
+import comasky.rpcClass.view.MempoolInfoView;
+import comasky.rpcClass.view.NetworkInfoView;
+import comasky.rpcClass.view.PeerInfoView;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardFramesTest {
+
+    private static final CBORMapper CBOR_MAPPER = new CBORMapper();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static PeerInfoView peer(int id, long bytesrecv) {
+        return new PeerInfoView(id, "10.0.0." + id + ":8333", 1700000000L, bytesrecv, 0L, 0.05, 0L, 70016,
+                "/Satoshi:27.0.0/", true, "inbound", "ipv4");
+    }
+
+    private static GlobalResponse response(List<PeerInfoView> inbound, long upTime) {
+        return new GlobalResponse(null, null, inbound, List.of(), null, null, upTime, null, null, Map.of());
+    }
+
+    @Test
+    void testFrameFor_sendsSnapshotThenDelta() throws Exception {
+        DashboardFrames first = DashboardFrames.snapshot(objectMapper,
+                response(List.of(peer(1, 100), peer(2, 200), peer(3, 300)), 1000L), null);
+        DashboardFrames second = DashboardFrames.snapshot(objectMapper,
+                response(List.of(peer(1, 100), peer(2, 250), peer(4, 400)), 1005L), first);
+
+        JsonNode snapshot = objectMapper.readTree(first.frameFor(true, 0L));
+        assertEquals("snapshot", snapshot.get("type").asText());
+        assertEquals(1L, snapshot.get("seq").asLong());
+        assertEquals(3, snapshot.get("data").get("inboundPeer").size());
+
+        JsonNode delta = objectMapper.readTree(second.frameFor(true, first.seq()));
+        assertEquals("delta", delta.get("type").asText());
+        assertEquals(2L, delta.get("seq").asLong());
+        assertEquals(1L, delta.get("base").asLong());
+
+        JsonNode changes = delta.get("changes");
+        assertEquals(Set.of("upTime", "inboundPeer"), fieldNames(changes), "Only changed fields should be sent");
+        assertEquals(1005L, changes.get("upTime").asLong());
+        JsonNode peers = changes.get("inboundPeer");
+        assertEquals(4, peers.get("added").get(0).get("id").asInt());
+        assertEquals(250L, peers.get("updated").get(0).get("bytesrecv").asLong());
+        assertEquals(1, peers.get("updated").size());
+        assertEquals(3, peers.get("removed").get(0).asInt());
+    }
+
+    @Test
+    void testFrameFor_sendsSectionsThatBecameNullAsNull() throws Exception {
+        // Same inclusion as quarkus.jackson.serialization-inclusion: null sections are left out of the payload
+        ObjectMapper nonNullMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        BlockchainInfoView blockchainInfo = new BlockchainInfoView("main", 850000, 850000, 8.3e13, 1700000000L,
+                1699999000L, 0.9999, false, "00", 600000000000L);
+        DashboardFrames first = DashboardFrames.snapshot(nonNullMapper, new GlobalResponse(null, null, List.of(),
+                List.of(), blockchainInfo, null, 1000L, null, null, Map.of()), null);
+        DashboardFrames second = DashboardFrames.snapshot(nonNullMapper, response(List.of(), 1005L), first);
+
+        assertFalse(objectMapper.readTree(second.message().serializedJson()).has("blockchainInfoResponse"));
+        JsonNode changes = objectMapper.readTree(second.frameFor(true, first.seq())).get("changes");
+        assertEquals(Set.of("upTime", "blockchainInfoResponse"), fieldNames(changes));
+        assertTrue(changes.get("blockchainInfoResponse").isNull(), "The failed section should be cleared");
+    }
+
+    @Test
+    void testFrameFor_sendsSnapshotToSessionsMissingTheBase() throws Exception {
+        DashboardFrames first = DashboardFrames.snapshot(objectMapper, response(List.of(), 1000L), null);
+        DashboardFrames second = DashboardFrames.snapshot(objectMapper, response(List.of(), 1005L), first);
+        DashboardFrames third = DashboardFrames.snapshot(objectMapper, response(List.of(), 1010L), second);
+
+        assertEquals("snapshot", objectMapper.readTree(third.frameFor(true, first.seq())).get("type").asText());
+        assertEquals("snapshot", objectMapper.readTree(third.frameFor(true, 0L)).get("type").asText());
+    }
+
+    @Test
+    void testFrameFor_detachedSnapshotStaysOutOfTheSequence() throws Exception {
+        DashboardFrames first = DashboardFrames.snapshot(objectMapper, response(List.of(), 1000L), null);
+        DashboardFrames detached = DashboardFrames.detached(objectMapper, response(List.of(), 1005L));
+
+        JsonNode snapshot = objectMapper.readTree(detached.frameFor(true, 0L));
+        assertEquals("snapshot", snapshot.get("type").asText(), "A detached snapshot is never a heartbeat");
+        assertEquals(0L, snapshot.get("seq").asLong());
+        assertEquals("snapshot", objectMapper.readTree(detached.frameFor(true, first.seq())).get("type").asText());
+        assertEquals(detached.message().serializedJson(), detached.frameFor(false, 0L));
+    }
+
+    @Test
+    void testFrameFor_fullModeAndErrorsSendThePlainPayload() throws Exception {
+        DashboardFrames frames = DashboardFrames.snapshot(objectMapper, response(List.of(), 1000L), null);
+        DashboardFrames error = DashboardFrames.error(objectMapper,
+                Map.of("rpcConnected", false, "errorMessage", "Failed"));
+
+        assertEquals(frames.message().serializedJson(), frames.frameFor(false, 0L));
+        assertEquals(1000L, objectMapper.readTree(frames.frameFor(false, 0L)).get("upTime").asLong());
+        assertEquals(error.message().serializedJson(), error.frameFor(true, 1L));
+        assertEquals("Failed", error.message().errorMessage());
+    }
+
+    @Test
+    void testDeflated_compressesEachFrameOnce() throws Exception {
+        List<PeerInfoView> peers = List.of(peer(1, 100), peer(2, 200), peer(3, 300));
+        DashboardFrames frames = DashboardFrames.snapshot(objectMapper, response(peers, 1000L), null);
+        String frame = frames.frameFor(true, 0L);
+
+        byte[] deflated = frames.binary(DashboardFrames.Kind.SNAPSHOT, DashboardTopic.ALL, false, true);
+
+        assertSame(deflated, frames.binary(frames.kindFor(true, 0L), DashboardTopic.ALL, false, true),
+                "A frame should be compressed only once");
+        assertTrue(deflated.length < frame.length());
+        assertEquals(frame, new String(inflate(deflated), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testBinary_encodesTheSameFrameAsCbor() throws Exception {
+        List<PeerInfoView> peers = List.of(peer(1, 100), peer(2, 200), peer(3, 300));
+        DashboardFrames first = DashboardFrames.snapshot(objectMapper, response(peers, 1000L), null);
+        DashboardFrames second = DashboardFrames.snapshot(objectMapper, response(peers, 1005L), first);
+        DashboardFrames.Kind kind = second.kindFor(true, first.seq());
+
+        byte[] cbor = second.binary(kind, DashboardTopic.ALL, true, false);
+
+        assertSame(cbor, second.binary(kind, DashboardTopic.ALL, true, false), "A frame should be encoded only once per format");
+        assertEquals(objectMapper.readTree(second.json(kind, DashboardTopic.ALL)), CBOR_MAPPER.readTree(cbor));
+        assertEquals(objectMapper.readTree(second.json(kind, DashboardTopic.ALL)),
+                CBOR_MAPPER.readTree(inflate(second.binary(kind, DashboardTopic.ALL, true, true))));
+        assertTrue(cbor.length < second.json(kind, DashboardTopic.ALL).length());
+    }
+
+    @Test
+    void testJson_restrictsFramesToTopics() throws Exception {
+        List<PeerInfoView> peers = List.of(peer(1, 100), peer(2, 200));
+        DashboardFrames first = DashboardFrames.snapshot(objectMapper, response(peers, 1000L), null);
+        DashboardFrames second = DashboardFrames.snapshot(objectMapper,
+                response(List.of(peer(1, 150), peer(2, 200)), 1005L), first);
+        Set<DashboardTopic> topics = Set.of(DashboardTopic.UPTIME, DashboardTopic.BLOCK);
+
+        JsonNode full = objectMapper.readTree(second.json(DashboardFrames.Kind.FULL, topics));
+        JsonNode snapshot = objectMapper.readTree(second.json(DashboardFrames.Kind.SNAPSHOT, topics));
+        JsonNode delta = objectMapper.readTree(second.json(DashboardFrames.Kind.DELTA, topics));
+
+        assertEquals(Set.of("upTime", "block", "errors"), fieldNames(full));
+        assertEquals(Set.of("upTime", "block", "errors"), fieldNames(snapshot.get("data")));
+        assertEquals(2L, snapshot.get("seq").asLong());
+        assertEquals(Set.of("upTime"), fieldNames(delta.get("changes")), "Peer changes should not be sent");
+        assertSame(second.json(DashboardFrames.Kind.FULL, topics),
+                second.json(DashboardFrames.Kind.FULL, EnumSet.of(DashboardTopic.BLOCK, DashboardTopic.UPTIME)),
+                "Sessions with the same topics should share the frame");
+    }
+
+    @Test
+    void testSameContentAs_recognizesUnchangedSnapshotsAndSendsHeartbeats() throws Exception {
+        DashboardFrames first = DashboardFrames.snapshot(objectMapper, response(List.of(peer(1, 100)), 1000L), null);
+        DashboardFrames same = DashboardFrames.snapshot(objectMapper, response(List.of(peer(1, 100)), 1000L), first);
+        DashboardFrames changed = DashboardFrames.snapshot(objectMapper,
+                response(List.of(peer(1, 100), peer(2, 200)), 1000L), first);
+
+        assertTrue(same.sameContentAs(first), "A new instance with the same data should have the same content");
+        assertTrue(same.identicalTo(first));
+        assertFalse(changed.sameContentAs(first));
+        assertFalse(first.sameContentAs(null));
+
+        assertEquals(DashboardFrames.Kind.HEARTBEAT, first.kindFor(true, first.seq()));
+        assertEquals(DashboardFrames.Kind.HEARTBEAT, first.kindFor(false, first.seq()));
+        JsonNode heartbeat = objectMapper.readTree(first.json(DashboardFrames.Kind.HEARTBEAT, Set.of(DashboardTopic.UPTIME)));
+        assertEquals("heartbeat", heartbeat.get("type").asText());
+        assertEquals(first.seq(), heartbeat.get("seq").asLong());
+        assertEquals(2, heartbeat.size());
+    }
+
+    @Test
+    void testSameContentAs_ignoresTheCountersOfConsecutivePolls() throws Exception {
+        DashboardFrames first = DashboardFrames.snapshot(objectMapper, poll(850000, 432000L, 1_500_000L), null);
+        DashboardFrames next = DashboardFrames.snapshot(objectMapper, poll(850000, 432005L, 1_512_345L), first);
+        DashboardFrames newBlock = DashboardFrames.snapshot(objectMapper, poll(850001, 432010L, 1_530_000L), next);
+
+        assertTrue(next.sameContentAs(first), "Uptime and byte counters change on every poll");
+        assertFalse(next.identicalTo(first), "The counters should still be told apart");
+        assertFalse(newBlock.sameContentAs(next));
+    }
+
+    /**
+     * A dashboard snapshot as polled from a synced node with a few peers.
+     */
+    private static GlobalResponse poll(int blocks, long upTime, long bytes) {
+        List<PeerInfoView> inbound = List.of(
+                new PeerInfoView(7, "203.0.113.7:51234", 1700000000L, bytes, bytes / 3, 0.042, 0L, 70016,
+                        "/Satoshi:27.0.0/", true, "inbound", "ipv4"),
+                new PeerInfoView(9, "198.51.100.9:40122", 1700000500L, bytes / 2, bytes / 5, 0.118, -1L, 70016,
+                        "/Satoshi:26.1.0/", true, "inbound", "ipv4"));
+        List<PeerInfoView> outbound = List.of(
+                new PeerInfoView(1, "192.0.2.1:8333", 1699990000L, bytes * 4, bytes, 0.021, 0L, 70016,
+                        "/Satoshi:27.0.0/", false, "outbound-full-relay", "ipv4"));
+        SubverDistribution distribution = new SubverDistribution(
+                List.of(new SubverStats("/Satoshi:27.0.0/", 50.0), new SubverStats("/Satoshi:26.1.0/", 50.0)),
+                List.of(new SubverStats("/Satoshi:27.0.0/", 100.0)));
+        BlockchainInfoView blockchainInfo = new BlockchainInfoView("main", blocks, blocks, 8.3e13, 1700000000L + blocks,
+                1699999000L + blocks, 0.9999, false, "00", 600000000000L);
+        NetworkInfoView nodeInfo = new NetworkInfoView(270000, "/Satoshi:27.0.0/", 70016, List.of(), List.of());
+        MempoolInfoView mempoolInfo = new MempoolInfoView(5000, 1000000L, 2000000L, 300000000L, 0.00001, 0.00001, 0,
+                0.5);
+        return new GlobalResponse(new GeneralStats(2, 1, 3), distribution, inbound, outbound, blockchainInfo, nodeInfo,
+                upTime, new BlockInfoView(1700000000L + blocks, 3000), mempoolInfo, Map.of());
+    }
+
+    static byte[] inflate(byte[] deflated) throws Exception {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(deflated);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                out.write(buffer, 0, inflater.inflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,84 @@
+package comasky.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.rpcClass.dto.GlobalResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionOutboxTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong clock = new AtomicLong();
+
+    private DashboardFrames frames(long upTime) throws Exception {
+        return DashboardFrames.snapshot(objectMapper,
+                new GlobalResponse(null, null, List.of(), List.of(), null, null, upTime, null, null, Map.of()), null);
+    }
+
+    @Test
+    void testOffer_sendsRightAwayWhenIdle() throws Exception {
+        SessionOutbox outbox = new SessionOutbox(1000, clock::get);
+
+        assertTrue(outbox.offer(frames(1)));
+        assertEquals(1, outbox.depth());
+        assertNull(outbox.next());
+        assertEquals(0, outbox.depth());
+        assertEquals(1, outbox.sent());
+        assertTrue(outbox.offer(frames(2)), "An idle session should be sent to right away");
+    }
+
+    @Test
+    void testOffer_keepsOnlyTheLatestSnapshotWhileSending() throws Exception {
+        SessionOutbox outbox = new SessionOutbox(1000, clock::get);
+        DashboardFrames latest = frames(4);
+
+        assertTrue(outbox.offer(frames(1)));
+        assertFalse(outbox.offer(frames(2)));
+        assertFalse(outbox.offer(frames(3)));
+        assertFalse(outbox.offer(latest));
+
+        assertEquals(2, outbox.depth(), "Only the frame in flight and the latest snapshot should be held");
+        assertEquals(2, outbox.dropped());
+        assertSame(latest, outbox.next());
+        assertEquals(1, outbox.depth());
+        assertNull(outbox.next());
+        assertEquals(2, outbox.sent());
+    }
+
+    @Test
+    void testClear_leavesTheSessionIdleAfterAFailedSend() throws Exception {
+        SessionOutbox outbox = new SessionOutbox(1000, clock::get);
+        assertTrue(outbox.offer(frames(1)));
+        assertFalse(outbox.offer(frames(2)));
+
+        outbox.clear();
+        clock.addAndGet(2000 * MILLIS);
+
+        assertEquals(0, outbox.depth());
+        assertEquals(1, outbox.dropped());
+        assertFalse(outbox.isStuck(), "A failed session should not be evicted as stuck");
+    }
+
+    @Test
+    void testIsStuck_onceTheFrameInFlightExceedsTheDeadline() throws Exception {
+        SessionOutbox outbox = new SessionOutbox(1000, clock::get);
+        assertFalse(outbox.isStuck());
+
+        outbox.offer(frames(1));
+        clock.addAndGet(1000 * MILLIS);
+        assertFalse(outbox.isStuck());
+        clock.addAndGet(MILLIS);
+        assertTrue(outbox.isStuck());
+
+        outbox.offer(frames(2));
+        outbox.next();
+        assertFalse(outbox.isStuck(), "The deadline should restart with the next frame");
+    }
+}
@@ -0,0 +1,68 @@
+package comasky.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import comasky.rpcClass.dto.GlobalResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Compares the formats a dashboard snapshot can be sent in: JSON text (the default) and CBOR (the
+ * {@code dashboard.cbor} WebSocket subprotocol).
+ * <p>
+ * Measures the time to encode one snapshot of 125 peers; the payload size of each format, plain and compressed,
+ * is printed once per trial.
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.include=DashboardEncodingBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardEncodingBenchmark {
+
+    private ObjectMapper jsonMapper;
+    private CBORMapper cborMapper;
+    private GlobalResponse response;
+
+    @Setup
+    public void setup() throws Exception {
+        jsonMapper = new ObjectMapper();
+        cborMapper = new CBORMapper();
+        response = WebSocketFanOutBenchmark.createResponse();
+
+        byte[] json = jsonMapper.writeValueAsBytes(response);
+        byte[] cbor = cborMapper.writeValueAsBytes(response);
+        System.out.printf("%nPayload bytes: json=%d (deflated %d), cbor=%d (deflated %d)%n",
+                json.length, deflatedSize(json), cbor.length, deflatedSize(cbor));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(response);
+    }
+
+    private static int deflatedSize(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            byte[] buffer = new byte[payload.length + 64];
+            int size = 0;
+            while (!deflater.finished()) {
+                size += deflater.deflate(buffer);
+            }
+            return size;
+        } finally {
+            deflater.end();
+        }
+    }
+}
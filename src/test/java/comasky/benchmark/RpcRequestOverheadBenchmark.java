@@ -0,0 +1,73 @@
+package comasky.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.client.RpcRequestDto;
+import comasky.rpcClass.RpcMethod;
+import comasky.rpcClass.RpcResponse;
+import comasky.rpcClass.responses.BlockchainInfoResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call overhead of preparing an RPC request, before any I/O happens.
+ * <p>
+ * {@code perCall} redoes on every call what used to be done for each request: resolving the result and response
+ * types, building the request DTO, serializing it and encoding the Basic credentials.
+ * {@code descriptor} reads the same values from an {@link RpcMethod} built once: parameterless calls are sent as
+ * these cached bytes with every transport ({@link comasky.client.RpcClient#executeEncodedRpcCall} on the default
+ * REST one), the HTTP client copying them as is. Calls with parameters are still serialized on every call.
+ * Run with the GC profiler to read {@code gc.alloc.rate.norm} (bytes allocated per operation):
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.include=RpcRequestOverheadBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RpcRequestOverheadBenchmark {
+
+    private static final String METHOD = "getblockchaininfo";
+    private static final String USER = "bitcoinrpc";
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    private ObjectMapper objectMapper;
+    private RpcMethod<BlockchainInfoResponse> method;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        method = RpcMethod.of(objectMapper, METHOD, BlockchainInfoResponse.class);
+        authorization = basic(USER, PASSWORD);
+    }
+
+    @Benchmark
+    public void perCall(Blackhole blackhole) throws Exception {
+        JavaType resultType = objectMapper.getTypeFactory().constructType(BlockchainInfoResponse.class);
+        blackhole.consume(objectMapper.getTypeFactory().constructParametricType(RpcResponse.class, resultType));
+        RpcRequestDto request = new RpcRequestDto("1.0", "quarkus-" + METHOD, METHOD, Collections.emptyList());
+        blackhole.consume(objectMapper.writeValueAsBytes(request));
+        blackhole.consume(basic(USER, PASSWORD));
+    }
+
+    @Benchmark
+    public void descriptor(Blackhole blackhole) {
+        blackhole.consume(method.responseType());
+        blackhole.consume(method.request());
+        blackhole.consume(method.encodedRequest());
+        blackhole.consume(authorization);
+    }
+
+    private static String basic(String username, String password) {
+        String credentials = username + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,152 @@
+package comasky.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import comasky.rpcClass.RpcResponse;
+import comasky.rpcClass.responses.PeerInfoResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocation cost of binding RPC responses from a decoded String versus straight from the body bytes.
+ * <p>
+ * The payload is a getpeerinfo reply for a node with {@code peers} connections, the largest response of a refresh.
+ * Run with the GC profiler to read {@code gc.alloc.rate.norm} (bytes allocated per operation):
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.include=RpcResponseParsingBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RpcResponseParsingBenchmark {
+
+    private static final String[] MESSAGE_TYPES = {
+            "addrv2", "block", "blocktxn", "cmpctblock", "feefilter", "getdata", "getheaders", "headers",
+            "inv", "notfound", "ping", "pong", "sendaddrv2", "sendcmpct", "sendheaders", "tx", "verack", "version"
+    };
+
+    @Param({"125", "500"})
+    int peers;
+
+    private ObjectMapper objectMapper;
+    private JavaType peerInfoResponseType;
+    private JavaType batchReplyType;
+    private JavaType peerInfoType;
+    private byte[] peerInfoBody;
+    private byte[] batchBody;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        peerInfoType = objectMapper.getTypeFactory().constructType(new TypeReference<List<PeerInfoResponse>>() {});
+        peerInfoResponseType = objectMapper.getTypeFactory().constructParametricType(RpcResponse.class, peerInfoType);
+        batchReplyType = objectMapper.getTypeFactory().constructType(new TypeReference<List<RpcResponse<TokenBuffer>>>() {});
+
+        List<PeerInfoResponse> peerList = new ArrayList<>(peers);
+        for (int i = 0; i < peers; i++) {
+            peerList.add(createPeer(i));
+        }
+        RpcResponse<List<PeerInfoResponse>> response = new RpcResponse<>();
+        response.setResult(peerList);
+        response.setId("quarkus-getpeerinfo");
+        peerInfoBody = objectMapper.writeValueAsBytes(response);
+
+        ArrayNode batch = objectMapper.createArrayNode();
+        batch.add(reply("quarkus-getpeerinfo", objectMapper.valueToTree(peerList)));
+        batch.add(reply("quarkus-uptime", objectMapper.valueToTree(432000L)));
+        batch.add(reply("quarkus-getbestblockhash", objectMapper.valueToTree("00000000000000000001abc")));
+        batchBody = objectMapper.writeValueAsBytes(batch);
+    }
+
+    /**
+     * Previous path: the client decodes the body into a String, which Jackson then re-reads.
+     */
+    @Benchmark
+    public RpcResponse<List<PeerInfoResponse>> peerInfoFromString() throws Exception {
+        String body = new String(peerInfoBody, StandardCharsets.UTF_8);
+        return objectMapper.readValue(body, peerInfoResponseType);
+    }
+
+    /**
+     * Current path: Jackson binds directly from the UTF-8 body bytes.
+     */
+    @Benchmark
+    public RpcResponse<List<PeerInfoResponse>> peerInfoFromBytes() throws Exception {
+        return objectMapper.readValue(peerInfoBody, peerInfoResponseType);
+    }
+
+    /**
+     * Batch reply routed through a JsonNode tree, then converted to the typed result.
+     */
+    @Benchmark
+    public List<PeerInfoResponse> batchFromTree() throws Exception {
+        String body = new String(batchBody, StandardCharsets.UTF_8);
+        JsonNode replies = objectMapper.readTree(body);
+        return objectMapper.treeToValue(replies.get(0).get("result"), peerInfoType);
+    }
+
+    /**
+     * Batch reply routed by id with each result buffered as tokens, as done by RpcServices.
+     */
+    @Benchmark
+    public List<PeerInfoResponse> batchFromTokenBuffer() throws Exception {
+        List<RpcResponse<TokenBuffer>> replies = objectMapper.readValue(batchBody, batchReplyType);
+        try (JsonParser parser = replies.get(0).getResult().asParser(objectMapper)) {
+            return objectMapper.readValue(parser, peerInfoType);
+        }
+    }
+
+    private ObjectNode reply(String id, JsonNode result) {
+        ObjectNode reply = objectMapper.createObjectNode();
+        reply.set("result", result);
+        reply.putNull("error");
+        reply.put("id", id);
+        return reply;
+    }
+
+    private static PeerInfoResponse createPeer(int id) {
+        Map<String, Long> perMessage = new LinkedHashMap<>();
+        for (int i = 0; i < MESSAGE_TYPES.length; i++) {
+            perMessage.put(MESSAGE_TYPES[i], 1_000L * (id + i + 1));
+        }
+        return new PeerInfoResponse(
+                id,
+                "203.0.113." + (id % 255) + ":8333",
+                "198.51.100.7:8333",
+                "0000000000000c09",
+                1_733_000_000L + id,
+                1_733_443_200L,
+                1_733_443_199L,
+                52_428_800L + id,
+                26_214_400L + id,
+                perMessage,
+                perMessage,
+                0.0421,
+                0.0187,
+                0,
+                70016,
+                "/Satoshi:27.0.0/",
+                id % 5 != 0,
+                "v2",
+                0,
+                id % 5 != 0 ? "inbound" : "outbound-full-relay",
+                "ipv4",
+                0
+        );
+    }
+}
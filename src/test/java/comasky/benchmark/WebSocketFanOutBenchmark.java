@@ -0,0 +1,84 @@
+package comasky.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import comasky.rpcClass.dto.GeneralStats;
+import comasky.rpcClass.dto.GlobalResponse;
+import comasky.rpcClass.dto.SubverDistribution;
+import comasky.rpcClass.view.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CPU cost of one dashboard broadcast as the number of WebSocket sessions grows.
+ * <p>
+ * {@code encodePerSession} serializes the snapshot for every session, as the JSON encoder did when each session was
+ * sent the {@link GlobalResponse} object. {@code encodeOnce} serializes it once and sends the same text to every
+ * session. Both include the UTF-8 encoding of the frame that the container performs for each session.
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.include=WebSocketFanOutBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebSocketFanOutBenchmark {
+
+    private static final int PEERS = 125;
+
+    @Param({"10", "100", "1000"})
+    int sessions;
+
+    private ObjectMapper objectMapper;
+    private GlobalResponse response;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        response = createResponse();
+    }
+
+    @Benchmark
+    public void encodePerSession(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < sessions; i++) {
+            blackhole.consume(objectMapper.writeValueAsString(response).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void encodeOnce(Blackhole blackhole) throws Exception {
+        String json = objectMapper.writeValueAsString(response);
+        for (int i = 0; i < sessions; i++) {
+            blackhole.consume(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    static GlobalResponse createResponse() {
+        List<PeerInfoView> inbound = new ArrayList<>();
+        List<PeerInfoView> outbound = new ArrayList<>();
+        for (int i = 0; i < PEERS; i++) {
+            boolean isInbound = i % 3 != 0;
+            PeerInfoView peer = new PeerInfoView(i, "203.0.113." + (i % 255) + ":8333", 1_733_000_000L + i,
+                    10_000_000L + i, 20_000_000L + i, 0.05 + i / 1000.0, 0, 70016, "/Satoshi:27.0.0/", isInbound,
+                    isInbound ? "inbound" : "outbound-full-relay", "ipv4");
+            (isInbound ? inbound : outbound).add(peer);
+        }
+        BlockchainInfoView blockchainInfo = new BlockchainInfoView(
+                "main", 870000, 870000, 0.9999, 1700000000L, 1700000000L, 0.9999, false, "chainwork", 1000000000L);
+        NetworkInfoView networkInfo = new NetworkInfoView(
+                70016, "/Satoshi:27.0.0/", 270000, Collections.emptyList(), Collections.emptyList());
+        return new GlobalResponse(
+                new GeneralStats(inbound.size(), outbound.size(), PEERS),
+                new SubverDistribution(Collections.emptyList(), Collections.emptyList()),
+                inbound, outbound, blockchainInfo, networkInfo, 432000L,
+                new BlockInfoView(1_733_000_000L, 2500),
+                new MempoolInfoView(5000, 1000000L, 2000000L, 300000000L, 0.00001, 0.00001, 0, 0.5),
+                Collections.emptyMap());
+    }
+}
@@ -0,0 +1,90 @@
+package comasky.rpcClass;
+
+import comasky.rpcClass.responses.BlockHeaderResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockHeaderIndexTest {
+
+    private static final long GENESIS_TIME = 1_733_000_000L;
+
+    private static BlockHeaderResponse header(int height, String hash, String previousHash, long time) {
+        return new BlockHeaderResponse(hash, 1, height, 1, "", "", time, time, 0L, "", 1.0, "", 2500, previousHash, null);
+    }
+
+    private static BlockHeaderResponse header(int height) {
+        return header(height, "h" + height, "h" + (height - 1), GENESIS_TIME + height * 600L);
+    }
+
+    @Test
+    void testAddTip_buildsChainAndAverageInterval() {
+        BlockHeaderIndex index = new BlockHeaderIndex(10);
+        index.addTip(header(100));
+        assertNull(index.averageIntervalSeconds(), "One header gives no interval");
+
+        index.addTip(header(101));
+        index.addTip(header(102));
+
+        assertEquals(3, index.size());
+        assertEquals(600.0, index.averageIntervalSeconds());
+        assertEquals("h101", index.get("h101").hash());
+    }
+
+    @Test
+    void testAddTip_trimsToCapacity() {
+        BlockHeaderIndex index = new BlockHeaderIndex(3);
+        for (int height = 100; height <= 105; height++) {
+            index.addTip(header(height));
+        }
+
+        assertEquals(3, index.size());
+        assertNull(index.get("h102"));
+        assertNotNull(index.get("h103"));
+    }
+
+    @Test
+    void testAddTip_reorgReplacesStaleBranch() {
+        BlockHeaderIndex index = new BlockHeaderIndex(10);
+        index.addTip(header(100));
+        index.addTip(header(101));
+        index.addTip(header(102));
+
+        // Competing block at height 102 on top of the same parent
+        index.addTip(header(102, "h102b", "h101", GENESIS_TIME + 102 * 600L + 30));
+
+        assertEquals(3, index.size());
+        assertNull(index.get("h102"));
+        assertNotNull(index.get("h102b"));
+    }
+
+    @Test
+    void testAddTip_gapDropsOlderHeadersAndBackfillRestoresThem() {
+        BlockHeaderIndex index = new BlockHeaderIndex(10);
+        index.addTip(header(100));
+        index.addTip(header(101));
+
+        // Two blocks arrived between refreshes: 102 is unknown
+        index.addTip(header(103));
+        assertEquals(1, index.size());
+        assertEquals("h102", index.nextAncestorHash());
+
+        assertFalse(index.addAncestor(header(101)), "Only the parent of the oldest header is accepted");
+        assertTrue(index.addAncestor(header(102)));
+        assertTrue(index.addAncestor(header(101)));
+
+        assertEquals(3, index.size());
+        assertEquals(600.0, index.averageIntervalSeconds());
+        assertEquals("h100", index.nextAncestorHash());
+    }
+
+    @Test
+    void testNextAncestorHash_nullWhenFull() {
+        BlockHeaderIndex index = new BlockHeaderIndex(2);
+        index.addTip(header(100));
+        index.addTip(header(101));
+
+        assertNull(index.nextAncestorHash());
+        assertFalse(index.addAncestor(header(99)));
+    }
+}
@@ -0,0 +1,127 @@
+package comasky.rpcClass;
+
+import comasky.exceptions.RpcException;
+import comasky.exceptions.RpcOverloadedException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.ws.rs.WebApplicationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private static final long LATENCY_THRESHOLD_MS = 100L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ConcurrencyLimiter limiter(int initialLimit, int maxLimit, int queueSize) {
+        return new ConcurrencyLimiter(true, initialLimit, maxLimit, queueSize, LATENCY_THRESHOLD_MS, clock::get);
+    }
+
+    /**
+     * Starts a call that completes when the returned emitter is completed.
+     */
+    private static UniEmitter<? super String> startPendingCall(ConcurrencyLimiter limiter, UniAssertSubscriber<String> subscriber) {
+        AtomicReference<UniEmitter<? super String>> emitter = new AtomicReference<>();
+        limiter.run(() -> Uni.createFrom().<String>emitter(emitter::set)).subscribe().withSubscriber(subscriber);
+        return emitter.get();
+    }
+
+    @Test
+    void testRun_queuesBeyondLimitAndRejectsBeyondQueue() {
+        ConcurrencyLimiter limiter = limiter(1, 1, 1);
+        UniAssertSubscriber<String> first = UniAssertSubscriber.create();
+        UniAssertSubscriber<String> second = UniAssertSubscriber.create();
+        UniAssertSubscriber<String> third = UniAssertSubscriber.create();
+
+        UniEmitter<? super String> firstCall = startPendingCall(limiter, first);
+        AtomicReference<UniEmitter<? super String>> secondCall = new AtomicReference<>();
+        limiter.run(() -> Uni.createFrom().<String>emitter(secondCall::set)).subscribe().withSubscriber(second);
+        limiter.run(() -> Uni.createFrom().item("third")).subscribe().withSubscriber(third);
+
+        assertNull(secondCall.get(), "Second call should wait for a slot");
+        assertEquals(1, limiter.stats().inFlight());
+        assertEquals(1, limiter.stats().queued());
+        third.assertFailedWith(RpcOverloadedException.class);
+        assertEquals(1, limiter.stats().rejected());
+
+        firstCall.complete("first");
+        first.assertItem("first");
+        assertNotNull(secondCall.get(), "Second call should start once the first one is done");
+        assertEquals(0, limiter.stats().queued());
+
+        secondCall.get().complete("second");
+        second.assertItem("second");
+        assertEquals(0, limiter.stats().inFlight());
+    }
+
+    @Test
+    void testRun_growsLimitOnFastSuccess() {
+        ConcurrencyLimiter limiter = limiter(1, 4, 0);
+
+        limiter.run(() -> Uni.createFrom().item("ok")).await().indefinitely();
+
+        assertEquals(2, limiter.stats().limit());
+    }
+
+    @Test
+    void testRun_halvesLimitWhenNodeWorkQueueIsFull() {
+        ConcurrencyLimiter limiter = limiter(8, 16, 0);
+
+        limiter.run(() -> Uni.createFrom().failure(new WebApplicationException("Work queue depth exceeded", 503)))
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertFailedWith(WebApplicationException.class);
+
+        assertEquals(4, limiter.stats().limit());
+    }
+
+    @Test
+    void testRun_halvesLimitOnSlowReply() {
+        ConcurrencyLimiter limiter = limiter(8, 16, 0);
+        UniAssertSubscriber<String> subscriber = UniAssertSubscriber.create();
+
+        UniEmitter<? super String> call = startPendingCall(limiter, subscriber);
+        clock.addAndGet((LATENCY_THRESHOLD_MS + 1) * 1_000_000L);
+        call.complete("slow");
+
+        subscriber.assertItem("slow");
+        assertEquals(4, limiter.stats().limit());
+    }
+
+    @Test
+    void testRun_keepsLimitOnRpcError() {
+        ConcurrencyLimiter limiter = limiter(8, 16, 0);
+
+        limiter.run(() -> Uni.createFrom().failure(new RpcException("RPC Error for method getblock: Block not found")))
+                .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertFailedWith(RpcException.class);
+
+        assertEquals(8, limiter.stats().limit());
+        assertEquals(0, limiter.stats().inFlight());
+    }
+
+    @Test
+    void testRun_disabledLimiterDoesNotQueue() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(false, 1, 1, 0, LATENCY_THRESHOLD_MS);
+
+        startPendingCall(limiter, UniAssertSubscriber.create());
+        limiter.run(() -> Uni.createFrom().item("second")).subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertItem("second");
+
+        assertFalse(limiter.stats().enabled());
+    }
+
+    @Test
+    void testIsOverload() {
+        assertTrue(ConcurrencyLimiter.isOverload(new RpcException("Connection failed", new TimeoutException())));
+        assertTrue(ConcurrencyLimiter.isOverload(new RpcOverloadedException("limit reached")));
+        assertTrue(ConcurrencyLimiter.isOverload(new RuntimeException("HTTP 503: Work queue depth exceeded")));
+        assertFalse(ConcurrencyLimiter.isOverload(new RpcException("RPC Error for method getblock")));
+    }
+}
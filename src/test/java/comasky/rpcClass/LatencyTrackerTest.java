@@ -0,0 +1,43 @@
+package comasky.rpcClass;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyTrackerTest {
+
+    @Test
+    void testPercentile_unknownUntilEnoughSamples() {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 1; i < LatencyTracker.MIN_SAMPLES; i++) {
+            tracker.record(i);
+        }
+        assertEquals(-1, tracker.percentile(95));
+
+        tracker.record(LatencyTracker.MIN_SAMPLES);
+        assertEquals(LatencyTracker.MIN_SAMPLES, tracker.percentile(100));
+    }
+
+    @Test
+    void testPercentile_ofRecentCalls() {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 1; i <= 20; i++) {
+            tracker.record(i * 10L);
+        }
+
+        assertEquals(190L, tracker.percentile(95));
+        assertEquals(100L, tracker.percentile(50));
+        assertEquals(10L, tracker.percentile(1));
+    }
+
+    @Test
+    void testRecord_forgetsTheOldestCalls() {
+        LatencyTracker tracker = new LatencyTracker();
+        tracker.record(1_000_000L);
+        for (int i = 0; i < LatencyTracker.CAPACITY; i++) {
+            tracker.record(5L);
+        }
+
+        assertEquals(5L, tracker.percentile(100), "The slow call is no longer among the recent ones");
+    }
+}
@@ -0,0 +1,98 @@
+package comasky.rpcClass;
+
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.smallrye.mutiny.subscription.Cancellable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RpcScopeTest {
+
+    /**
+     * A call blocking until it is interrupted, reporting when it started and when it was interrupted.
+     */
+    private static final class HangingCall {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        String call() {
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        }
+    }
+
+    @Test
+    void testRun_callsOnAVirtualThread() {
+        try (RpcScope scope = new RpcScope("test")) {
+            boolean virtual = scope.run(() -> Thread.currentThread().isVirtual()).await().atMost(Duration.ofSeconds(5));
+
+            assertTrue(virtual);
+        }
+    }
+
+    @Test
+    void testRun_cancellationInterruptsTheCall() throws InterruptedException {
+        try (RpcScope scope = new RpcScope("test")) {
+            HangingCall call = new HangingCall();
+            Cancellable subscription = scope.run(call::call).subscribe().with(_ -> fail("No item expected"));
+            assertTrue(call.started.await(5, TimeUnit.SECONDS));
+
+            subscription.cancel();
+
+            assertTrue(call.interrupted.await(5, TimeUnit.SECONDS), "The call should be interrupted");
+        }
+    }
+
+    @Test
+    void testKeepOpenUntil_closesOnceTheLastDeadlineHasPassed() throws InterruptedException {
+        RpcScope scope = new RpcScope("test");
+        HangingCall call = new HangingCall();
+        scope.run(call::call).subscribe().with(_ -> { }, _ -> { });
+        assertTrue(call.started.await(5, TimeUnit.SECONDS));
+
+        long now = System.nanoTime();
+        scope.keepOpenUntil(now + Duration.ofMillis(400).toNanos());
+        scope.keepOpenUntil(now + Duration.ofMillis(100).toNanos());
+
+        assertFalse(call.interrupted.await(250, TimeUnit.MILLISECONDS), "The later deadline should keep it open");
+        assertTrue(call.interrupted.await(5, TimeUnit.SECONDS), "The call should be interrupted");
+    }
+
+    @Test
+    void testKeepOpen_outlivesTheDeadlines() throws InterruptedException {
+        try (RpcScope scope = new RpcScope("test")) {
+            HangingCall call = new HangingCall();
+            scope.run(call::call).subscribe().with(_ -> { }, _ -> { });
+            assertTrue(call.started.await(5, TimeUnit.SECONDS));
+
+            scope.keepOpenUntil(System.nanoTime() + Duration.ofMillis(50).toNanos());
+            scope.keepOpen();
+
+            assertFalse(call.interrupted.await(250, TimeUnit.MILLISECONDS), "A caller without deadline still waits");
+        }
+    }
+
+    @Test
+    void testClose_interruptsRunningCallsAndRejectsNewOnes() throws InterruptedException {
+        RpcScope scope = new RpcScope("test");
+        HangingCall call = new HangingCall();
+        scope.run(call::call).subscribe().with(_ -> { }, _ -> { });
+        assertTrue(call.started.await(5, TimeUnit.SECONDS));
+
+        scope.close();
+
+        assertTrue(call.interrupted.await(5, TimeUnit.SECONDS), "The call should be interrupted");
+        scope.run(() -> "too late").subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertFailedWith(CancellationException.class);
+    }
+}
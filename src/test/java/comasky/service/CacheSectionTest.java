@@ -0,0 +1,64 @@
+package comasky.service;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSectionTest {
+
+    @Test
+    void testGet_concurrentCallersShareOneLoad() {
+        CacheSection<String> section = new CacheSection<>(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<UniEmitter<? super String>> pending = new AtomicReference<>();
+
+        Uni<String> first = section.get(() -> {
+            loads.incrementAndGet();
+            return Uni.createFrom().<String>emitter(pending::set);
+        });
+        AtomicReference<String> firstResult = new AtomicReference<>();
+        first.subscribe().with(firstResult::set);
+        Uni<String> second = section.get(() -> {
+            loads.incrementAndGet();
+            return Uni.createFrom().item("other");
+        });
+        AtomicReference<String> secondResult = new AtomicReference<>();
+        second.subscribe().with(secondResult::set);
+
+        pending.get().complete("value");
+
+        assertEquals("value", firstResult.get());
+        assertEquals("value", secondResult.get());
+        assertEquals(1, loads.get());
+        assertEquals("value", section.get(() -> Uni.createFrom().item("other")).await().indefinitely(),
+                "The loaded value should be kept while fresh");
+    }
+
+    @Test
+    void testGet_failureIsNotKept() {
+        CacheSection<String> section = new CacheSection<>(Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () ->
+                section.get(() -> Uni.createFrom().failure(new IllegalStateException("Node busy"))).await().indefinitely());
+
+        assertEquals("value", section.get(() -> Uni.createFrom().item("value")).await().indefinitely());
+    }
+
+    @Test
+    void testInvalidate_discardsLoadInProgress() {
+        CacheSection<String> section = new CacheSection<>(Duration.ofMinutes(1));
+        AtomicReference<UniEmitter<? super String>> pending = new AtomicReference<>();
+        section.get(() -> Uni.createFrom().<String>emitter(pending::set)).subscribe().with(_ -> {});
+
+        section.invalidate();
+        pending.get().complete("outdated");
+
+        assertEquals("fresh", section.get(() -> Uni.createFrom().item("fresh")).await().indefinitely());
+    }
+}
@@ -0,0 +1,44 @@
+package comasky.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MempoolActivityTest {
+
+    private long nowMillis = 5_000_000L;
+
+    @Test
+    void testArrivalsPerSecond_nullUntilStarted() {
+        MempoolActivity activity = new MempoolActivity(10, () -> nowMillis);
+        activity.recordArrival();
+        nowMillis += 2_000L;
+
+        assertNull(activity.arrivalsPerSecond());
+    }
+
+    @Test
+    void testArrivalsPerSecond_slidesOverWindow() {
+        MempoolActivity activity = new MempoolActivity(10, () -> nowMillis);
+        activity.start();
+        for (int second = 0; second < 20; second++) {
+            for (int i = 0; i < (second < 10 ? 1 : 5); i++) {
+                activity.recordArrival();
+            }
+            nowMillis += 1_000L;
+        }
+
+        // Only the last 10 complete seconds count
+        assertEquals(5.0, activity.arrivalsPerSecond());
+    }
+
+    @Test
+    void testArrivalsPerSecond_ignoresCurrentSecond() {
+        MempoolActivity activity = new MempoolActivity(10, () -> nowMillis);
+        activity.start();
+        nowMillis += 2_000L;
+        activity.recordArrival();
+
+        assertEquals(0.0, activity.arrivalsPerSecond());
+    }
+}
@@ -0,0 +1,84 @@
+package comasky.service;
+
+import comasky.rpcClass.RpcServices;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.websocket.ClientEndpoint;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.OnClose;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link NodeRegistry} with one additional node configured.
+ */
+@QuarkusTest
+@TestProfile(NodeRegistryTest.TwoNodesProfile.class)
+class NodeRegistryTest {
+
+    private static final LinkedBlockingDeque<CloseReason> CLOSE_REASONS = new LinkedBlockingDeque<>();
+
+    public static class TwoNodesProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "bitcoin.rpc.nodes.signet.host", "localhost",
+                    "bitcoin.rpc.nodes.signet.port", "38332",
+                    "bitcoin.rpc.nodes.signet.user", "signetuser",
+                    "bitcoin.rpc.nodes.signet.password", "signetpass"
+            );
+        }
+    }
+
+    @Inject
+    NodeRegistry nodeRegistry;
+
+    @Inject
+    RpcServices rpcServices;
+
+    @TestHTTPResource("/ws/dashboard/unknown")
+    URI unknownNodeUri;
+
+    @Test
+    void registersDefaultNodeFirstThenConfiguredNodes() {
+        assertEquals(List.of(NodeRegistry.DEFAULT_NODE, "signet"), List.copyOf(nodeRegistry.names()));
+    }
+
+    @Test
+    void configuredNodeHasItsOwnServices() {
+        assertTrue(nodeRegistry.get("signet").isPresent());
+        assertInstanceOf(RpcServices.class, nodeRegistry.get("signet").get());
+        assertNotSame(nodeRegistry.get(NodeRegistry.DEFAULT_NODE).get(), nodeRegistry.get("signet").get());
+        assertTrue(nodeRegistry.get("unknown").isEmpty());
+    }
+
+    @Test
+    void unknownNodeChannelIsClosed() throws Exception {
+        CLOSE_REASONS.clear();
+        ContainerProvider.getWebSocketContainer().connectToServer(Client.class, unknownNodeUri);
+
+        CloseReason reason = CLOSE_REASONS.poll(5, TimeUnit.SECONDS);
+        assertNotNull(reason, "Connection to an unknown node should be closed");
+        assertEquals(CloseReason.CloseCodes.CANNOT_ACCEPT.getCode(), reason.getCloseCode().getCode());
+    }
+
+    @ClientEndpoint
+    public static class Client {
+        @OnClose
+        public void close(Session session, CloseReason reason) {
+            CLOSE_REASONS.add(reason);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package comasky.service;
+
+import comasky.rpcClass.RpcServices;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SnapshotPollerTest {
+
+    private static final String BLOCK_HASH = "00000000000000000001a2b3c4d5e6f708192a3b4c5d6e7f8091a2b3c4d5e6f7";
+
+    private SnapshotPoller poller;
+    private RpcServices services;
+    private final List<UniEmitter<? super Void>> polls = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        polls.clear();
+        services = mock(RpcServices.class);
+        when(services.hasSnapshotSubscribers()).thenReturn(true);
+        // Each poll stays in flight until the test completes it
+        when(services.poll()).thenAnswer(_ -> Uni.createFrom().<Void>emitter(polls::add));
+        NodeRegistry nodeRegistry = mock(NodeRegistry.class);
+        when(nodeRegistry.get(NodeRegistry.DEFAULT_NODE)).thenReturn(Optional.of(services));
+        when(nodeRegistry.all()).thenReturn(Map.of(NodeRegistry.DEFAULT_NODE, services));
+        poller = new SnapshotPoller();
+        poller.nodeRegistry = nodeRegistry;
+    }
+
+    @Test
+    void testBlockBurst_coalescesIntoOnePendingPoll() {
+        for (int i = 0; i < 50; i++) {
+            poller.onNewBlock(new NewBlockEvent(BLOCK_HASH));
+        }
+        poller.pollAll();
+        assertEquals(1, polls.size(), "Only one poll should be in flight");
+
+        polls.getFirst().complete(null);
+        assertEquals(2, polls.size(), "The blocks notified meanwhile should trigger a single poll");
+
+        polls.get(1).complete(null);
+        assertEquals(2, polls.size());
+        verify(services, times(2)).poll();
+    }
+
+    @Test
+    void testNewBlockAfterPollEnded_pollsAgain() {
+        poller.onNewBlock(new NewBlockEvent(BLOCK_HASH));
+        polls.getFirst().fail(new IllegalStateException("node down"));
+
+        poller.onNewBlock(new NewBlockEvent(BLOCK_HASH));
+
+        assertEquals(2, polls.size(), "A failed poll should not keep the node busy");
+    }
+}
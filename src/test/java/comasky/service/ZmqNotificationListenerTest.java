@@ -0,0 +1,84 @@
+package comasky.service;
+
+import jakarta.enterprise.event.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ZmqNotificationListenerTest {
+
+    private static final String BLOCK_HASH = "00000000000000000001a2b3c4d5e6f708192a3b4c5d6e7f8091a2b3c4d5e6f7";
+
+    private ZmqNotificationListener listener;
+    private Event<NewBlockEvent> newBlockEvent;
+    private long nowMillis;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        newBlockEvent = mock(Event.class);
+        nowMillis = 1_000_000L;
+        listener = new ZmqNotificationListener();
+        listener.newBlockEvent = newBlockEvent;
+        listener.mempoolActivity = new MempoolActivity(60, () -> nowMillis);
+        listener.mempoolActivity.start();
+    }
+
+    private static byte[] sequenceBody(String hash, char label) {
+        byte[] hashBytes = HexFormat.of().parseHex(hash);
+        byte[] body = Arrays.copyOf(hashBytes, hashBytes.length + 1 + 8);
+        body[hashBytes.length] = (byte) label;
+        return body;
+    }
+
+    @Test
+    void testHashblock_firesNewBlockEvent() {
+        listener.handleMessage("hashblock", HexFormat.of().parseHex(BLOCK_HASH));
+
+        verify(newBlockEvent).fire(new NewBlockEvent(BLOCK_HASH));
+    }
+
+    @Test
+    void testSameBlockFromHashblockAndSequence_firesOnce() {
+        listener.handleMessage("hashblock", HexFormat.of().parseHex(BLOCK_HASH));
+        listener.handleMessage("sequence", Arrays.copyOf(sequenceBody(BLOCK_HASH, 'C'), 33));
+
+        verify(newBlockEvent, times(1)).fire(any());
+    }
+
+    @Test
+    void testDisconnectOfLastConnectedBlock_firesAgain() {
+        listener.handleMessage("hashblock", HexFormat.of().parseHex(BLOCK_HASH));
+        listener.handleMessage("sequence", sequenceBody(BLOCK_HASH, 'C'));
+        listener.handleMessage("sequence", sequenceBody(BLOCK_HASH, 'D'));
+        listener.handleMessage("hashblock", HexFormat.of().parseHex(BLOCK_HASH));
+
+        verify(newBlockEvent, times(3)).fire(new NewBlockEvent(BLOCK_HASH));
+    }
+
+    @Test
+    void testSequenceTransactionAdded_countsArrivals() {
+        String txid = "1111111111111111111111111111111111111111111111111111111111111111";
+        for (int i = 0; i < 30; i++) {
+            listener.handleMessage("sequence", sequenceBody(txid, 'A'));
+        }
+        listener.handleMessage("sequence", sequenceBody(txid, 'R'));
+        nowMillis += 3_000L;
+
+        assertEquals(10.0, listener.mempoolActivity.arrivalsPerSecond());
+        verify(newBlockEvent, never()).fire(any());
+    }
+
+    @Test
+    void testTruncatedBody_isIgnored() {
+        listener.handleMessage("hashblock", new byte[]{1, 2, 3});
+
+        verify(newBlockEvent, never()).fire(any());
+    }
+}